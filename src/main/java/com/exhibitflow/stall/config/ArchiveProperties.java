@@ -0,0 +1,33 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for archiving stalls of finished exhibitions.
+ *
+ * <p>Loads configuration from application.yml under "stall.archive" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.archive")
+@Data
+public class ArchiveProperties {
+
+    /**
+     * Whether the scheduled job archives finished events; on-demand archiving always works
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long after an event's end its stalls stay in the live table
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Stalls moved per transaction, bounding lock time and WAL per batch
+     */
+    private int batchSize = 1000;
+}
@@ -0,0 +1,34 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the stall change feed.
+ *
+ * <p>Loads configuration from application.yml under "stall.change-feed" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.change-feed")
+@Data
+public class ChangeFeedProperties {
+
+    /**
+     * Changes returned per request when no limit is given
+     */
+    private int defaultBatchSize = 100;
+
+    /**
+     * Upper bound for the limit parameter
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * Changes younger than this are held back until transactions that stamped an earlier
+     * updated_at have committed (and replicas caught up), so a watermark never skips a row
+     */
+    private Duration settleWindow = Duration.ofSeconds(5);
+}
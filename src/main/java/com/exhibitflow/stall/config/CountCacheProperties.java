@@ -0,0 +1,28 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for approximate list totals ({@code totals=APPROXIMATE}).
+ *
+ * <p>Loads configuration from application.yml under "stall.count-cache" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.count-cache")
+@Data
+public class CountCacheProperties {
+
+    /**
+     * How long a counted total is reused for the same filter combination
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound on cached filter combinations; further totals are counted without caching
+     */
+    private int maxEntries = 10_000;
+}
@@ -0,0 +1,140 @@
+package com.exhibitflow.stall.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Startup check for connection pool, PostgreSQL driver and Hibernate settings that are
+ * known to hurt throughput or correctness.
+ *
+ * <p>Every finding is logged at WARN. With stall.datasource.validation.fail-on-risk=true
+ * the application refuses to start instead.
+ *
+ * @see <a href="https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing">About Pool Sizing</a>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stall.datasource.validation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceSettingsValidator {
+
+    static final int MAX_RECOMMENDED_POOL_SIZE = 50;
+    static final Duration MAX_RECOMMENDED_CONNECTION_TIMEOUT = Duration.ofSeconds(5);
+    static final Duration MAX_RECOMMENDED_LIFETIME = Duration.ofMinutes(30);
+
+    private final Environment environment;
+    private final DataSource dataSource;
+
+    @Value("${stall.datasource.validation.fail-on-risk:false}")
+    private boolean failOnRisk;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validate() {
+        List<String> risks = findRisks();
+        risks.forEach(risk -> log.warn("Risky datasource setting: {}", risk));
+        if (!risks.isEmpty() && failOnRisk) {
+            throw new IllegalStateException(risks.size() + " risky datasource setting(s) found: " + risks);
+        }
+    }
+
+    List<String> findRisks() {
+        List<String> risks = new ArrayList<>();
+        HikariConfig pool = poolConfig();
+        checkPool(pool, risks);
+        if (pool.getJdbcUrl() != null && pool.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            checkPostgresDriver(pool.getDataSourceProperties(), risks);
+        }
+        checkHibernate(pool, risks);
+        return risks;
+    }
+
+    private void checkPool(HikariConfig pool, List<String> risks) {
+        if (pool.getMaximumPoolSize() > MAX_RECOMMENDED_POOL_SIZE) {
+            risks.add("maximum-pool-size " + pool.getMaximumPoolSize() + " exceeds " + MAX_RECOMMENDED_POOL_SIZE
+                    + "; more connections than database cores increases contention");
+        }
+        if (pool.getMinimumIdle() >= 0 && pool.getMinimumIdle() < pool.getMaximumPoolSize()) {
+            risks.add("minimum-idle " + pool.getMinimumIdle() + " is below maximum-pool-size "
+                    + pool.getMaximumPoolSize() + "; bursts pay for new connections");
+        }
+        if (pool.getConnectionTimeout() > MAX_RECOMMENDED_CONNECTION_TIMEOUT.toMillis()) {
+            risks.add("connection-timeout " + pool.getConnectionTimeout()
+                    + "ms lets requests queue on an exhausted pool instead of failing fast");
+        }
+        if (pool.getMaxLifetime() == 0 || pool.getMaxLifetime() > MAX_RECOMMENDED_LIFETIME.toMillis()) {
+            risks.add("max-lifetime " + pool.getMaxLifetime()
+                    + "ms should be set below network and database idle timeouts");
+        }
+    }
+
+    private void checkPostgresDriver(Properties driver, List<String> risks) {
+        if (!"true".equalsIgnoreCase(driver.getProperty("reWriteBatchedInserts"))) {
+            risks.add("reWriteBatchedInserts is off; batched inserts are sent as separate statements");
+        }
+        String fetchSize = driver.getProperty("defaultRowFetchSize");
+        if (fetchSize == null || "0".equals(fetchSize)) {
+            risks.add("defaultRowFetchSize is unset; large result sets are buffered in memory completely");
+        }
+        if ("0".equals(driver.getProperty("prepareThreshold"))) {
+            risks.add("prepareThreshold=0 disables server-side prepared statements");
+        }
+    }
+
+    private void checkHibernate(HikariConfig pool, List<String> risks) {
+        int batchSize = environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class, 0);
+        if (batchSize <= 1) {
+            risks.add("hibernate.jdbc.batch_size is unset; updates are sent one statement at a time");
+        }
+        if (!environment.getProperty("spring.jpa.properties.hibernate.query.in_clause_parameter_padding", Boolean.class, false)) {
+            risks.add("hibernate.query.in_clause_parameter_padding is off; every IN list size is a new plan");
+        }
+        boolean showSql = environment.getProperty("spring.jpa.show-sql", Boolean.class, false);
+        if (showSql) {
+            risks.add("spring.jpa.show-sql writes every statement to stdout synchronously");
+        }
+        if (!showSql && environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false)) {
+            risks.add("hibernate.format_sql has no effect without show-sql");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.generate_statistics", Boolean.class, false)) {
+            risks.add("hibernate.generate_statistics adds bookkeeping to every session");
+        }
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            risks.add("spring.jpa.open-in-view holds a connection for the whole request");
+        }
+        boolean providerDisablesAutocommit = environment.getProperty(
+                "spring.jpa.properties.hibernate.connection.provider_disables_autocommit", Boolean.class, false);
+        if (providerDisablesAutocommit && pool.isAutoCommit()) {
+            risks.add("hibernate.connection.provider_disables_autocommit is set but the pool hands out "
+                    + "auto-commit connections; statements would commit individually");
+        }
+    }
+
+    private HikariConfig poolConfig() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        // Routed or proxied pools are built from the same spring.datasource.* settings
+        HikariConfig config = new HikariConfig();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        if (config.getJdbcUrl() == null) {
+            config.setJdbcUrl(environment.getProperty("spring.datasource.url"));
+        }
+        return config;
+    }
+}
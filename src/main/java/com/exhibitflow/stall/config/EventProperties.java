@@ -0,0 +1,21 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for exhibition event scoping.
+ *
+ * <p>Loads configuration from application.yml under "stall.events" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.events")
+@Data
+public class EventProperties {
+
+    /**
+     * Event used by the unscoped /api/stalls routes
+     */
+    private Long defaultEventId = 1L;
+}
@@ -0,0 +1,41 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for catalogue snapshot exports.
+ *
+ * <p>Loads configuration from application.yml under "stall.export" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.export")
+@Data
+public class ExportProperties {
+
+    /**
+     * Directory export files and the incremental watermark are written to
+     */
+    private String directory = "exports";
+
+    /**
+     * Cron expression for scheduled incremental exports; "-" disables them
+     */
+    private String cron = "-";
+
+    /**
+     * Incremental exports start this long before the previous watermark, so rows updated by
+     * transactions that committed after the previous export are not missed. Consumers
+     * deduplicate by id and updated_at
+     */
+    private Duration overlap = Duration.ofMinutes(1);
+
+    /**
+     * How long a scheduled export holds the export lease; other instances skip scheduled runs
+     * meanwhile. Keep it shorter than the cron interval and longer than clock skew between instances
+     */
+    private Duration scheduledLease = Duration.ofMinutes(10);
+}
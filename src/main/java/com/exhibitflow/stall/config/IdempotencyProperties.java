@@ -0,0 +1,33 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for Idempotency-Key handling on mutating endpoints.
+ *
+ * <p>Loads configuration from application.yml under "stall.idempotency" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.idempotency")
+@Data
+public class IdempotencyProperties {
+
+    /**
+     * How long a completed response is replayed for the same key
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Upper bound on stored keys; new keys are executed without recording once reached
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Maximum accepted length of the Idempotency-Key header value
+     */
+    private int maxKeyLength = 255;
+}
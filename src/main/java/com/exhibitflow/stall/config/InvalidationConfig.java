@@ -0,0 +1,55 @@
+package com.exhibitflow.stall.config;
+
+import com.exhibitflow.stall.dto.StallInvalidationDto;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Topic and listener container for stall invalidation messages.
+ *
+ * <p>Every instance consumes in a group of its own, so each one sees every message. Only new
+ * messages are of interest: a starting instance builds its read model from the database.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "stall.invalidation", name = "enabled", havingValue = "true")
+public class InvalidationConfig {
+
+    public static final String LISTENER_CONTAINER_FACTORY = "stallInvalidationListenerContainerFactory";
+
+    @Bean
+    public NewTopic stallInvalidationTopic(InvalidationProperties properties) {
+        return TopicBuilder.name(properties.getTopic())
+                .partitions(properties.getPartitions())
+                .compact()
+                .build();
+    }
+
+    @Bean(LISTENER_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, StallInvalidationDto> stallInvalidationListenerContainerFactory(
+            KafkaProperties kafkaProperties) {
+        Map<String, Object> consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        // Positions of a per-instance group are never resumed
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        ConcurrentKafkaListenerContainerFactory<String, StallInvalidationDto> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        // A malformed message is logged and skipped instead of failing every poll of the container
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(consumerProperties,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(StallInvalidationDto.class, false))));
+        return factory;
+    }
+}
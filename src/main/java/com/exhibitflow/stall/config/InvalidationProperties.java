@@ -0,0 +1,37 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for cross-instance stall invalidation messages.
+ *
+ * <p>Loads configuration from application.yml under "stall.invalidation" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.invalidation")
+@Data
+public class InvalidationProperties {
+
+    /**
+     * Broadcast changed stalls to the other instances, which refresh their read model and
+     * list totals as soon as the message arrives
+     */
+    private boolean enabled = false;
+
+    /**
+     * Compacted topic keyed by stall id, so it retains the latest message per stall
+     */
+    private String topic = "stall.invalidations";
+
+    /**
+     * Identifies this instance; it consumes in its own group and skips its own messages
+     */
+    private String instanceId;
+
+    /**
+     * Partitions of the topic when it is created by this service
+     */
+    private int partitions = 3;
+}
@@ -0,0 +1,55 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuration properties for the in-memory stall inventory engine.
+ *
+ * <p>Loads configuration from application.yml under "stall.inventory" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.inventory")
+@Data
+public class InventoryProperties {
+
+    /**
+     * Serve hold/release/reserve from memory on the instance holding the inventory lease
+     */
+    private boolean enabled = false;
+
+    /**
+     * Identifies this instance in the lease table
+     */
+    private String ownerId = UUID.randomUUID().toString();
+
+    /**
+     * A lease not renewed for this long can be taken over by another instance
+     */
+    private Duration leaseTtl = Duration.ofSeconds(15);
+
+    /**
+     * Transitions are refused this long before the lease would expire without renewal, leaving
+     * time to flush the acknowledged ones. Must be shorter than the lease TTL.
+     */
+    private Duration ackMargin = Duration.ofSeconds(5);
+
+    /**
+     * How often the lease is renewed, or acquisition retried by standby instances
+     */
+    private Duration leaseRenewInterval = Duration.ofSeconds(5);
+
+    /**
+     * How often changed statuses are written to the stall table
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Maximum stall ids per UPDATE statement when flushing
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,90 @@
+package com.exhibitflow.stall.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logback turbo filter that rate limits and samples INFO and lower statements of the service.
+ *
+ * <p>Statements are grouped by their message template, so every log call site is its own
+ * operation. Each operation may log {@code maxPerSecond} lines per second; after that only every
+ * {@code sampleEvery}-th line is kept until the next second starts. WARN and ERROR are never dropped.
+ *
+ * <p>Requests flagged for tracing (see {@link RequestLoggingContextFilter}) bypass both the
+ * sampling and the configured logger level, so DEBUG lines are written for them only.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    public static final String TRACE_MDC_KEY = "trace";
+
+    private String loggerPrefix = "com.exhibitflow.stall";
+    private int maxPerSecond = 50;
+    private int sampleEvery = 100;
+    private int maxOperations = 1024;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (MDC.get(TRACE_MDC_KEY) != null) {
+            return FilterReply.ACCEPT;
+        }
+        // isXxxEnabled() checks carry no template; disabled levels are dropped by logback anyway
+        if (format == null || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= maxOperations) {
+                return FilterReply.NEUTRAL;
+            }
+            window = windows.computeIfAbsent(format, key -> new Window());
+        }
+        return window.admit(System.currentTimeMillis() / 1000) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private final class Window {
+        private volatile long second;
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean admit(long now) {
+            if (now != second) {
+                synchronized (this) {
+                    if (now != second) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            int n = count.incrementAndGet();
+            return n <= maxPerSecond || (sampleEvery > 0 && (n - maxPerSecond) % sampleEvery == 0);
+        }
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    public void setMaxOperations(int maxOperations) {
+        this.maxOperations = maxOperations;
+    }
+}
@@ -0,0 +1,64 @@
+package com.exhibitflow.stall.config;
+
+import com.exhibitflow.stall.dto.CreateStallRequest;
+import com.exhibitflow.stall.dto.HallSummaryResponse;
+import com.exhibitflow.stall.dto.LogTraceRequest;
+import com.exhibitflow.stall.dto.LogTraceResponse;
+import com.exhibitflow.stall.dto.NearbyStallResponse;
+import com.exhibitflow.stall.dto.StallEventDto;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.dto.StallSliceResponse;
+import com.exhibitflow.stall.dto.StallWaiterResponse;
+import com.exhibitflow.stall.dto.UpdateStallRequest;
+import com.exhibitflow.stall.exception.ErrorResponse;
+import com.exhibitflow.stall.exception.ValidationErrorResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability hints for the native image (mvn -Pnative native:compile).
+ *
+ * <p>Request and response bodies of controller methods are discovered by Spring AOT. The types
+ * below are bound by Jackson outside of controller signatures: Kafka JsonSerializer payloads,
+ * exception handler bodies, bodies of {@code ResponseEntity<?>} handlers and the
+ * HallSummaryResponse constructor expression.
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        StallEventDto.class,
+        StallResponse.class,
+        CreateStallRequest.class,
+        UpdateStallRequest.class,
+        HallSummaryResponse.class,
+        NearbyStallResponse.class,
+        StallSliceResponse.class,
+        StallWaiterResponse.class,
+        LogTraceRequest.class,
+        LogTraceResponse.class,
+        ErrorResponse.class,
+        ValidationErrorResponse.class
+})
+@ImportRuntimeHints(NativeHintsConfig.StallRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class StallRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Flyway scans the migration location at runtime
+            hints.resources().registerPattern("db/migration/*.sql");
+            // Created through the JPQL constructor expression in StallRepository.summarizeHalls
+            hints.reflection().registerType(HallSummaryResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // Instantiated and configured by logback from logback-spring.xml
+            hints.reflection().registerType(LogSamplingTurboFilter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            // Used as a Converter<Jwt, ...>; generic type resolved reflectively by Spring Security
+            hints.reflection().registerType(JwtAuthenticationConverter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
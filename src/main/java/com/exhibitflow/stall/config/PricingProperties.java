@@ -0,0 +1,97 @@
+package com.exhibitflow.stall.config;
+
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration properties for effective stall pricing.
+ *
+ * <p>Loads configuration from application.yml under "stall.pricing" prefix. Rules are picked up
+ * again when the properties are rebound, e.g. through the refresh endpoint.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.pricing")
+@Data
+public class PricingProperties {
+
+    /**
+     * Rules applied in order to the base price of every matching stall; adjustments compound
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Distinct stall attribute combinations whose matching rules are cached
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * Maximum stalls priced by one quote request
+     */
+    private int maxQuoteStalls = 500;
+
+    @Data
+    public static class Rule {
+        /**
+         * Reported in quotes for every stall the rule was applied to
+         */
+        private String name;
+
+        /**
+         * Events the rule applies to; empty for all events
+         */
+        private Set<Long> eventIds = new HashSet<>();
+
+        /**
+         * Stall sizes the rule applies to; empty for all sizes
+         */
+        private Set<StallSize> sizes = new HashSet<>();
+
+        /**
+         * Stall statuses the rule applies to; empty for all statuses
+         */
+        private Set<StallStatus> statuses = new HashSet<>();
+
+        /**
+         * Regular expression searched in the stall location, e.g. "(?i)corner"
+         */
+        private String locationPattern;
+
+        /**
+         * Start of the period the rule is active in (inclusive); open when unset
+         */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime validFrom;
+
+        /**
+         * End of the period the rule is active in (exclusive), e.g. an early-bird deadline
+         */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime validUntil;
+
+        /**
+         * Stalls that must be quoted together for the rule to apply (bulk discounts)
+         */
+        private int minQuantity = 1;
+
+        /**
+         * Percentage added to the price, negative for a discount
+         */
+        private BigDecimal percent = BigDecimal.ZERO;
+
+        /**
+         * Fixed amount added after the percentage, negative for a discount
+         */
+        private BigDecimal amount = BigDecimal.ZERO;
+    }
+}
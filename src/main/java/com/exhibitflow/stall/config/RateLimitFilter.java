@@ -0,0 +1,151 @@
+package com.exhibitflow.stall.config;
+
+import com.exhibitflow.stall.exception.ErrorResponse;
+import com.exhibitflow.stall.service.RateLimitService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Applies {@link RateLimitService} limits to authenticated /api/** requests and answers
+ * over-limit requests with 429 before they reach a controller or the connection pool.
+ *
+ * <p>Added to the security filter chain right after bearer token authentication in
+ * {@link SecurityConfig}, so the JWT subject and roles are known. Unauthenticated requests pass
+ * through and are rejected by Spring Security as before.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Highest first: a caller is limited by the most generous role they hold
+    private static final List<String> ROLES = List.of("ADMIN", "MANAGER", "VIEWER");
+
+    private static final Pattern LIST_PATH = Pattern.compile("^/api(/reactive)?(/events/\\d+)?/stalls/?$");
+
+    private final RateLimitService rateLimitService;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String role = highestRole(authentication);
+        Duration wait = rateLimitService.tryAcquire(authentication.getName(), role);
+        if (!wait.isZero()) {
+            reject(response, "Rate limit exceeded for role " + role, wait);
+            return;
+        }
+        if (!isListRequest(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!rateLimitService.tryEnterList(role)) {
+            reject(response, "Too many concurrent stall list requests for role " + role, Duration.ofSeconds(1));
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses hold the permit until the stream completes
+                request.getAsyncContext().addListener(new BulkheadReleasingListener(role));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                rateLimitService.exitList(role);
+            }
+        }
+    }
+
+    static String highestRole(Authentication authentication) {
+        Set<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return ROLES.stream()
+                .filter(role -> authorities.contains("ROLE_" + role))
+                .findFirst()
+                .orElse(RateLimitService.DEFAULT_ROLE);
+    }
+
+    private static boolean isListRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) && LIST_PATH.matcher(request.getRequestURI()).matches();
+    }
+
+    private void reject(HttpServletResponse response, String message, Duration retryAfter) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), message, LocalDateTime.now()));
+    }
+
+    private final class BulkheadReleasingListener implements AsyncListener {
+        private final String role;
+        private boolean released;
+
+        private BulkheadReleasingListener(String role) {
+            this.role = role;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                rateLimitService.exitList(role);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.exhibitflow.stall.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-caller rate limits and per-role list bulkheads on /api/**.
+ *
+ * <p>Loads configuration from application.yml under "stall.rate-limit" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * Reject over-limit requests with 429
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limits by role (VIEWER, MANAGER, ADMIN); a caller gets the limits of their highest role
+     */
+    private Map<String, Limit> roles = new HashMap<>(Map.of(
+            "VIEWER", new Limit(20, 10, 2),
+            "MANAGER", new Limit(40, 20, 4),
+            "ADMIN", new Limit(100, 50, 8)));
+
+    /**
+     * Limits for callers without any of the configured roles
+     */
+    private Limit defaults = new Limit(10, 5, 1);
+
+    /**
+     * Buckets of callers idle for this long are dropped
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /**
+         * Burst size: requests a caller can make at once
+         */
+        private int capacity;
+
+        /**
+         * Sustained requests per second per caller
+         */
+        private double refillPerSecond;
+
+        /**
+         * Concurrent stall list requests shared by all callers with the role
+         */
+        private int listConcurrency;
+    }
+}
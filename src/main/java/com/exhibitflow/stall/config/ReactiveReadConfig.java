@@ -0,0 +1,70 @@
+package com.exhibitflow.stall.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC connection pool for the reactive read API.
+ *
+ * <p>Spring Boot's R2DBC auto-configuration is excluded in application.yml: its reactive
+ * transaction manager would make @Transactional ambiguous for the JPA write path. The pool is
+ * not exposed as a ConnectionFactory bean either, because the JDBC DataSource auto-configuration
+ * backs off when one exists. Reads run without transactions on this separately sized pool, and
+ * its usage is reported as r2dbc.pool metrics for comparison with the Hikari pool.
+ */
+@Configuration
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stall.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadConfig implements DisposableBean {
+
+    static final String POOL_NAME = "stall-reactive";
+
+    private final ReactiveReadProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name(POOL_NAME)
+                .initialSize(properties.getInitialPoolSize())
+                .maxSize(properties.getMaxPoolSize())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build();
+        pool = new ConnectionPool(configuration);
+        meterRegistry.ifAvailable(registry -> new ConnectionPoolMetrics(pool, POOL_NAME, Tags.empty()).bindTo(registry));
+        log.info("Reactive read API enabled with up to {} R2DBC connections", properties.getMaxPoolSize());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
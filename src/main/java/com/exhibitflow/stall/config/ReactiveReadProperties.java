@@ -0,0 +1,48 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the reactive (R2DBC) read API.
+ *
+ * <p>Loads configuration from application.yml under "stall.reactive" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.reactive")
+@Data
+public class ReactiveReadProperties {
+
+    /**
+     * Expose /api/reactive/stalls backed by its own R2DBC connection pool
+     */
+    private boolean enabled = false;
+
+    /**
+     * R2DBC URL of the database, e.g. r2dbc:postgresql://localhost:5432/stalldb
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int initialPoolSize = 2;
+
+    private int maxPoolSize = 10;
+
+    private Duration maxIdleTime = Duration.ofMinutes(10);
+
+    /**
+     * How long a request waits for a pooled connection before failing
+     */
+    private Duration maxAcquireTime = Duration.ofSeconds(2);
+
+    /**
+     * Rows fetched per round trip while streaming; bounds memory per open stream
+     */
+    private int fetchSize = 100;
+}
@@ -0,0 +1,26 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the in-memory stall read model.
+ *
+ * <p>Loads configuration from application.yml under "stall.read-model" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.read-model")
+@Data
+public class ReadModelProperties {
+
+    /**
+     * Serve stall lists and floor plans from the read model instead of the stall table
+     */
+    private boolean enabled = false;
+
+    /**
+     * Changed rows read per query when catching up with writes of other instances
+     */
+    private int batchSize = 1000;
+}
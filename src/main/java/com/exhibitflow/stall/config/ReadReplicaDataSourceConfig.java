@@ -0,0 +1,110 @@
+package com.exhibitflow.stall.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a primary/replica router when
+ * stall.datasource.read-replicas.enabled is true.
+ *
+ * <p>Write transactions and non-transactional work (Flyway, schema validation) use the primary.
+ * {@code @Transactional(readOnly = true)} methods run on a replica chosen by {@link ReplicaLagMonitor}.
+ * All pools share the spring.datasource.hikari settings and report Hikari metrics under their pool name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "stall.datasource.read-replicas", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReadReplicaDataSourceConfig implements DisposableBean {
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ReadReplicaProperties replicaProperties;
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadReplicaProperties.Node> nodes = replicaProperties.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            ReadReplicaProperties.Node node = nodes.get(i);
+            String key = "replica-" + (i + 1);
+            HikariDataSource replica = createPool(key, node.getUrl(),
+                    node.getUsername() != null ? node.getUsername() : dataSourceProperties.determineUsername(),
+                    node.getPassword() != null ? node.getPassword() : dataSourceProperties.determinePassword());
+            replica.setReadOnly(true);
+            replicas.put(key, replica);
+        }
+        log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+        return new ReplicaLagMonitor(replicas, replicaProperties.getMaxLag());
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(ReplicaLagMonitor replicaLagMonitor) {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        HikariDataSource primary = createPool(ReadReplicaRoutingDataSource.PRIMARY,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+        targets.put(ReadReplicaRoutingDataSource.PRIMARY, primary);
+        targets.putAll(replicaLagMonitor.getReplicas());
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(replicaLagMonitor,
+                new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow()));
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        return routing;
+    }
+
+    /**
+     * The DataSource seen by JPA, Flyway and JdbcTemplate. The lazy proxy defers connection
+     * lookup until the first statement so the routing sees the transaction's read-only flag.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource createPool(String name, String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        if (dataSourceProperties.getDriverClassName() != null) {
+            pool.setDriverClassName(dataSourceProperties.getDriverClassName());
+        }
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -0,0 +1,64 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for routing read-only transactions to PostgreSQL replicas.
+ *
+ * <p>Loads configuration from application.yml under "stall.datasource.read-replicas" prefix.
+ * Routing is only active when {@code enabled} is true and at least one node is configured.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.datasource.read-replicas")
+@Data
+public class ReadReplicaProperties {
+
+    /**
+     * Route @Transactional(readOnly = true) work to replicas
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replicas lagging further behind the primary are skipped until they catch up
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * After a user writes, their reads stay on the primary for this long
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * How often replica lag is measured
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Replica connection settings
+     */
+    private List<Node> nodes = new ArrayList<>();
+
+    @Data
+    public static class Node {
+        /**
+         * JDBC URL of the replica
+         */
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password
+         */
+        private String password;
+    }
+}
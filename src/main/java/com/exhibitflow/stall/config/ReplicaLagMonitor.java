@@ -0,0 +1,89 @@
+package com.exhibitflow.stall.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically measures how far each replica lags behind the primary and hands out
+ * healthy replicas round-robin.
+ *
+ * <p>Only a replica whose WAL receiver is streaming from the primary is measured; a disconnected
+ * replica has stopped receiving WAL, so its receive and replay positions match while it falls
+ * further behind. A streaming replica whose replay position equals its receive position is caught
+ * up (lag 0); otherwise lag is the age of the last replayed transaction. Replicas that are not
+ * streaming, report no lag, or cannot be queried are treated as unhealthy until the next
+ * successful check.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY =
+            "SELECT CASE " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final long maxLagMillis;
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag) {
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return the next replica that is within the lag budget, or null when none is
+     */
+    public String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        for (int attempt = 0; attempt < size; attempt++) {
+            String key = replicaKeys.get(Math.floorMod(cursor.getAndIncrement(), size));
+            if (healthy.getOrDefault(key, false)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${stall.datasource.read-replicas.lag-check-interval:PT5S}")
+    public void checkLag() {
+        replicas.forEach((key, dataSource) -> {
+            boolean wasHealthy = healthy.getOrDefault(key, false);
+            boolean isHealthy;
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                double lagMillis = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+                // NULL (not streaming) or no row means the lag is unknown
+                boolean known = !Double.isNaN(lagMillis) && !resultSet.wasNull();
+                isHealthy = known && lagMillis <= maxLagMillis;
+                log.debug("Replica {} lag: {} ms", key, known ? lagMillis : "unknown");
+            } catch (Exception e) {
+                log.debug("Replica {} lag check failed: {}", key, e.getMessage());
+                isHealthy = false;
+            }
+            healthy.put(key, isHealthy);
+            if (wasHealthy != isHealthy) {
+                log.warn("Replica {} is now {} for read traffic", key, isHealthy ? "enabled" : "disabled");
+            }
+        });
+    }
+}
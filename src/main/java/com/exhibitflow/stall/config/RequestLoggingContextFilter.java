@@ -0,0 +1,91 @@
+package com.exhibitflow.stall.config;
+
+import com.exhibitflow.stall.service.LogTraceService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Puts the caller, event and stall of each request into the MDC so structured log lines can be
+ * filtered by them, and flags requests selected through {@link LogTraceService} for full tracing.
+ *
+ * <p>Registered with the default (lowest) order, so it runs after the security filter chain
+ * has authenticated the request.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestLoggingContextFilter extends OncePerRequestFilter {
+
+    static final String USER_MDC_KEY = "user";
+    static final String EVENT_MDC_KEY = "eventId";
+    static final String STALL_MDC_KEY = "stallId";
+
+    private static final Pattern EVENT_PATH = Pattern.compile("/events/(\\d+)(?:/|$)");
+    private static final Pattern STALL_PATH = Pattern.compile("/stalls/(\\d+)(?:/|$)");
+
+    private final LogTraceService logTraceService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        String user = currentUser();
+        String eventId = match(EVENT_PATH, uri);
+        String stallId = match(STALL_PATH, uri);
+        try {
+            putIfPresent(USER_MDC_KEY, user);
+            putIfPresent(EVENT_MDC_KEY, eventId);
+            putIfPresent(STALL_MDC_KEY, stallId);
+            if (logTraceService.isTraced(user, parseId(stallId))) {
+                MDC.put(LogSamplingTurboFilter.TRACE_MDC_KEY, "true");
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(USER_MDC_KEY);
+            MDC.remove(EVENT_MDC_KEY);
+            MDC.remove(STALL_MDC_KEY);
+            MDC.remove(LogSamplingTurboFilter.TRACE_MDC_KEY);
+        }
+    }
+
+    private static String match(Pattern pattern, String uri) {
+        Matcher matcher = pattern.matcher(uri);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    // Digits beyond the range of a long are left to the controller to reject; only stall tracing is skipped
+    private static Long parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void putIfPresent(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && !(authentication instanceof AnonymousAuthenticationToken)
+                ? authentication.getName() : null;
+    }
+}
@@ -47,6 +47,9 @@ public class SecurityConfig {
     private final JwtAuthenticationConverter jwtAuthenticationConverter;
     private final IdentityServiceProperties identityServiceProperties;
     private final org.springframework.web.cors.CorsConfigurationSource corsConfigurationSource;
+    private final com.exhibitflow.stall.service.RateLimitService rateLimitService;
+    private final RateLimitProperties rateLimitProperties;
+    private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -54,10 +57,12 @@ public class SecurityConfig {
     /**
      * Configures RestClient for calling Identity Service endpoints.
      * Used for token introspection and validation.
+     * Built from the auto-configured builder so calls are observed and carry the trace context.
      */
     @Bean
-    public org.springframework.web.client.RestClient identityServiceRestClient() {
-        return org.springframework.web.client.RestClient.builder()
+    public org.springframework.web.client.RestClient identityServiceRestClient(
+            org.springframework.web.client.RestClient.Builder restClientBuilder) {
+        return restClientBuilder
                 .baseUrl(identityServiceProperties.getBaseUrl())
                 .build();
     }
@@ -95,6 +100,7 @@ public class SecurityConfig {
      * <ul>
      *   <li>All /api/** endpoints require valid JWT token</li>
      *   <li>Specific role requirements defined at method level with @PreAuthorize</li>
+     *   <li>Rate limited per JWT subject and role by {@link RateLimitFilter}</li>
      * </ul>
      */
     @Bean
@@ -121,7 +127,10 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 // Stateless - no session creation
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-            );
+            )
+            // Not a bean, so it only runs here, once the bearer token has been authenticated
+            .addFilterAfter(new RateLimitFilter(rateLimitService, rateLimitProperties, objectMapper),
+                    org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter.class);
 
         return http.build();
     }
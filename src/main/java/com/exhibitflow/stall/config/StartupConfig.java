@@ -0,0 +1,56 @@
+package com.exhibitflow.stall.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Startup tuning for non-critical beans.
+ *
+ * <p>Beans from the packages listed in stall.startup.lazy-bean-packages (for example springdoc in
+ * the fast-startup profile) are marked lazy, so they are created on first use rather than while
+ * the service is starting. Controllers among them are still mapped and are created on their first
+ * request.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind("stall.startup.lazy-bean-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            if (packages.isEmpty()) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.getRole() == BeanDefinition.ROLE_APPLICATION
+                        && isInPackages(beanClassName(beanFactory, definition), packages)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static String beanClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        // @Bean methods have no class name of their own; use the declaring configuration class
+        if (definition.getBeanClassName() == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            return beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        return definition.getBeanClassName();
+    }
+
+    private static boolean isInPackages(String className, List<String> packages) {
+        return className != null && packages.stream().anyMatch(prefix -> className.startsWith(prefix + "."));
+    }
+}
@@ -0,0 +1,88 @@
+package com.exhibitflow.stall.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Offline span export for environments without an OTLP collector.
+ *
+ * <p>HTTP server, RestClient, Spring Security, JDBC and KafkaTemplate spans are created by the
+ * Micrometer observation auto-configuration; service methods are observed through
+ * {@link io.micrometer.observation.annotation.Observed}. This configuration only adds a second
+ * exporter that writes the finished spans to a local file.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stall.tracing", name = "file-export", havingValue = "true")
+public class TracingConfig {
+
+    private final TracingProperties tracingProperties;
+
+    @Bean
+    public SpanExporter fileSpanExporter() throws IOException {
+        Path file = Path.of(tracingProperties.getFile()).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        FileHandler handler = new FileHandler(file + ".%g", (int) tracingProperties.getMaxFileSize().toBytes(),
+                tracingProperties.getMaxFiles(), true);
+        handler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+        return new FileSpanExporter(handler);
+    }
+
+    /**
+     * Writes spans in the OTLP JSON encoding, one resource batch per line, through the
+     * exporter's own java.util.logging logger so they never reach the application log.
+     */
+    static class FileSpanExporter implements SpanExporter {
+
+        private final Logger exporterLogger = Logger.getLogger(OtlpJsonLoggingSpanExporter.class.getName());
+        private final SpanExporter delegate = OtlpJsonLoggingSpanExporter.create();
+        private final FileHandler handler;
+
+        FileSpanExporter(FileHandler handler) {
+            this.handler = handler;
+            exporterLogger.setLevel(Level.INFO);
+            exporterLogger.setUseParentHandlers(false);
+            exporterLogger.addHandler(handler);
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return delegate.export(spans);
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            handler.flush();
+            return delegate.flush();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            CompletableResultCode result = delegate.shutdown();
+            exporterLogger.removeHandler(handler);
+            handler.close();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the offline span exporter.
+ *
+ * <p>Loads configuration from application.yml under "stall.tracing" prefix. Spans are sent to an
+ * OTLP collector when management.otlp.tracing.endpoint is set, independently of these settings.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.tracing")
+@Data
+public class TracingProperties {
+
+    /**
+     * Additionally write finished spans as OTLP JSON lines to {@link #file}
+     */
+    private boolean fileExport = false;
+
+    /**
+     * Span file path; rotated files get a .1, .2, ... suffix
+     */
+    private String file = "logs/traces.jsonl";
+
+    /**
+     * Size at which the span file is rotated
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(50);
+
+    /**
+     * Number of span files kept
+     */
+    private int maxFiles = 5;
+}
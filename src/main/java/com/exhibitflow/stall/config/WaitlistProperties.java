@@ -0,0 +1,28 @@
+package com.exhibitflow.stall.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the stall hold waitlist.
+ *
+ * <p>Loads configuration from application.yml under "stall.waitlist" prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stall.waitlist")
+@Data
+public class WaitlistProperties {
+
+    /**
+     * Maximum queued callers per stall; further joins are rejected with 409
+     */
+    private int maxWaitersPerStall = 50;
+
+    /**
+     * A waiter not offered the stall within this time is dropped from the queue
+     */
+    private Duration waiterTtl = Duration.ofMinutes(30);
+}
@@ -0,0 +1,53 @@
+package com.exhibitflow.stall.controller;
+
+import com.exhibitflow.stall.dto.EventArchiveResponse;
+import com.exhibitflow.stall.dto.ExhibitionEventResponse;
+import com.exhibitflow.stall.dto.UpdateEventRequest;
+import com.exhibitflow.stall.service.ExhibitionEventService;
+import com.exhibitflow.stall.service.StallArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/events/{eventId}")
+@RequiredArgsConstructor
+@Tag(name = "Exhibition Events", description = "Event end dates and archival of finished events")
+@SecurityRequirement(name = "bearer-jwt")
+public class EventAdminController {
+
+    private final ExhibitionEventService exhibitionEventService;
+    private final StallArchiveService stallArchiveService;
+
+    @GetMapping
+    @Operation(summary = "Get an exhibition event", description = "Requires: ADMIN role")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExhibitionEventResponse> getEvent(@PathVariable Long eventId) {
+        return ResponseEntity.ok(exhibitionEventService.getEvent(eventId));
+    }
+
+    @PutMapping
+    @Operation(summary = "Update an exhibition event",
+               description = "Requires: ADMIN role. Stalls of an event are archived once endsAt lies " +
+                       "further back than stall.archive.retention")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExhibitionEventResponse> updateEvent(
+            @PathVariable Long eventId,
+            @Valid @RequestBody UpdateEventRequest request
+    ) {
+        return ResponseEntity.ok(exhibitionEventService.updateEvent(eventId, request));
+    }
+
+    @PostMapping("/archive")
+    @Operation(summary = "Archive the stalls of a finished event",
+               description = "Requires: ADMIN role. Moves all stalls of the event to the archive now, " +
+                       "without waiting for the retention period")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EventArchiveResponse> archiveEvent(@PathVariable Long eventId) {
+        return ResponseEntity.ok(stallArchiveService.archiveEvent(eventId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.exhibitflow.stall.controller;
+
+import com.exhibitflow.stall.dto.ExportMode;
+import com.exhibitflow.stall.dto.StallExportResponse;
+import com.exhibitflow.stall.service.StallExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+@RequiredArgsConstructor
+@Tag(name = "Catalogue Export", description = "Snapshot exports of the stall catalogue for analytics")
+@SecurityRequirement(name = "bearer-jwt")
+public class ExportController {
+
+    private final StallExportService stallExportService;
+
+    @PostMapping
+    @Operation(summary = "Export the stall catalogue",
+               description = "Requires: ADMIN role. Writes a gzip-compressed CSV file on the server and reports rows per second")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StallExportResponse> export(
+            @Parameter(description = "FULL, or INCREMENTAL for stalls changed since the previous export")
+            @RequestParam(defaultValue = "INCREMENTAL") ExportMode mode
+    ) {
+        return ResponseEntity.ok(stallExportService.export(mode));
+    }
+}
@@ -0,0 +1,50 @@
+package com.exhibitflow.stall.controller;
+
+import com.exhibitflow.stall.dto.LogTraceRequest;
+import com.exhibitflow.stall.dto.LogTraceResponse;
+import com.exhibitflow.stall.service.LogTraceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/log-trace")
+@RequiredArgsConstructor
+@Tag(name = "Log Tracing", description = "Temporarily enable full request logging for a stall or user")
+@SecurityRequirement(name = "bearer-jwt")
+public class LogTraceController {
+
+    private final LogTraceService logTraceService;
+
+    @GetMapping
+    @Operation(summary = "List active traces", description = "Requires: ADMIN role")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<LogTraceResponse>> getActiveTraces() {
+        return ResponseEntity.ok(logTraceService.getActiveTraces());
+    }
+
+    @PostMapping
+    @Operation(summary = "Trace a stall or user",
+               description = "Requires: ADMIN role. Logs every DEBUG line of matching requests until the trace expires")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<LogTraceResponse>> enableTrace(@Valid @RequestBody LogTraceRequest request) {
+        String username = request.getUsername() != null && !request.getUsername().isBlank() ? request.getUsername() : null;
+        return ResponseEntity.ok(logTraceService.enable(
+                request.getStallId(), username, Duration.ofMinutes(request.getDurationMinutes())));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Stop all traces", description = "Requires: ADMIN role")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> disableTraces() {
+        logTraceService.disableAll();
+        return ResponseEntity.noContent().build();
+    }
+}
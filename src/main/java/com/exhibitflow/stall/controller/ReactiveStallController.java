@@ -0,0 +1,79 @@
+package com.exhibitflow.stall.controller;
+
+import com.exhibitflow.stall.config.EventProperties;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.service.ReactiveStallService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking variant of the read endpoints of {@link StallController}, enabled with
+ * stall.reactive.enabled. Lists are streamed as newline-delimited JSON (Accept:
+ * application/x-ndjson) one stall at a time, or collected into a JSON array otherwise.
+ */
+@RestController
+@RequestMapping({"/api/reactive/stalls", "/api/reactive/events/{eventId}/stalls"})
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stall.reactive", name = "enabled", havingValue = "true")
+@Tag(name = "Stall Reads (Reactive)", description = "Streaming read APIs backed by R2DBC")
+@SecurityRequirement(name = "bearer-jwt")
+public class ReactiveStallController {
+
+    private final ReactiveStallService reactiveStallService;
+    private final EventProperties eventProperties;
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream stalls with filtering",
+               description = "Requires: VIEWER role or higher. page=0 streams all matching stalls")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public Flux<StallResponse> getStalls(
+            @Parameter(description = "Exhibition event id") @PathVariable(required = false) Long eventId,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) StallStatus status,
+            @Parameter(description = "Filter by size") @RequestParam(name = "stallSize", required = false) StallSize stallSize,
+            @Parameter(description = "Filter by location (partial match)") @RequestParam(required = false) String location,
+            @Parameter(description = "Minimum price (inclusive)") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price (inclusive)") @RequestParam(required = false) BigDecimal maxPrice,
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable
+    ) {
+        return reactiveStallService.getStalls(resolveEvent(eventId), status, stallSize, location, minPrice, maxPrice, pageable);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a stall by ID", description = "Requires: VIEWER role or higher")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public Mono<StallResponse> getStallById(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id
+    ) {
+        return reactiveStallService.getStallById(resolveEvent(eventId), id);
+    }
+
+    @GetMapping("/code/{code}")
+    @Operation(summary = "Get a stall by code", description = "Requires: VIEWER role or higher")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public Mono<StallResponse> getStallByCode(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable String code
+    ) {
+        return reactiveStallService.getStallByCode(resolveEvent(eventId), code);
+    }
+
+    private Long resolveEvent(Long eventId) {
+        return eventId != null ? eventId : eventProperties.getDefaultEventId();
+    }
+}
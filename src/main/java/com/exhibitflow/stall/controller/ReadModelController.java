@@ -0,0 +1,30 @@
+package com.exhibitflow.stall.controller;
+
+import com.exhibitflow.stall.dto.ReadModelRebuildResponse;
+import com.exhibitflow.stall.service.StallReadModel;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/read-model")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stall.read-model", name = "enabled", havingValue = "true")
+@Tag(name = "Read Model", description = "In-memory stall read model behind the list endpoints")
+@SecurityRequirement(name = "bearer-jwt")
+public class ReadModelController {
+
+    private final StallReadModel stallReadModel;
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild the read model",
+               description = "Requires: ADMIN role. Regenerates this instance's read model from the stall table")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReadModelRebuildResponse> rebuild() {
+        return ResponseEntity.ok(stallReadModel.rebuild());
+    }
+}
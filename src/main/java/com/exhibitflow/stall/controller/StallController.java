@@ -1,56 +1,184 @@
 package com.exhibitflow.stall.controller;
 
+import com.exhibitflow.stall.config.EventProperties;
 import com.exhibitflow.stall.dto.CreateStallRequest;
+import com.exhibitflow.stall.dto.HallSummaryResponse;
+import com.exhibitflow.stall.dto.NearbyStallResponse;
+import com.exhibitflow.stall.dto.StallBatchResponse;
+import com.exhibitflow.stall.dto.StallChangesResponse;
+import com.exhibitflow.stall.dto.StallQuoteRequest;
+import com.exhibitflow.stall.dto.StallQuoteResponse;
 import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.dto.StallSearchResponse;
+import com.exhibitflow.stall.dto.StallWaiterResponse;
+import com.exhibitflow.stall.dto.TotalsMode;
 import com.exhibitflow.stall.dto.UpdateStallRequest;
 import com.exhibitflow.stall.model.StallSize;
 import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.service.IdempotencyService;
+import com.exhibitflow.stall.service.StallChangeFeedService;
+import com.exhibitflow.stall.service.StallInventoryEngine;
 import com.exhibitflow.stall.service.StallService;
+import com.exhibitflow.stall.service.StallWaitlistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
 @RestController
-@RequestMapping("/api/stalls")
+@RequestMapping({"/api/stalls", "/api/events/{eventId}/stalls"})
 @RequiredArgsConstructor
 @Tag(name = "Stall Management", description = "APIs for managing exhibition stalls")
 @SecurityRequirement(name = "bearer-jwt")
 public class StallController {
 
     private final StallService stallService;
+    private final IdempotencyService idempotencyService;
+    private final EventProperties eventProperties;
+    private final ObjectProvider<StallInventoryEngine> inventoryEngine;
+    private final StallWaitlistService stallWaitlistService;
+    private final StallChangeFeedService stallChangeFeedService;
 
     @GetMapping
     @Operation(summary = "List all stalls with filtering and pagination", 
-               description = "Requires: VIEWER role or higher. Set page=0 to get all stalls without pagination")
+               description = "Requires: VIEWER role or higher. Set page=0 to get all stalls without pagination. " +
+                       "Under /api/stalls the default event is used. totals=NONE or APPROXIMATE returns a slice " +
+                       "without an exact count per page")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
-    public ResponseEntity<Page<StallResponse>> getStalls(
+    public ResponseEntity<?> getStalls(
+            @Parameter(description = "Exhibition event id") @PathVariable(required = false) Long eventId,
             @Parameter(description = "Filter by status") @RequestParam(required = false) StallStatus status,
             @Parameter(description = "Filter by size") @RequestParam(name = "stallSize", required = false) StallSize stallSize,
             @Parameter(description = "Filter by location (partial match)") @RequestParam(required = false) String location,
+            @Parameter(description = "Minimum price (inclusive)") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price (inclusive)") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Totals for paged results: EXACT, APPROXIMATE (cached) or NONE")
+            @RequestParam(defaultValue = "EXACT") TotalsMode totals,
             @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable
     ) {
+        if (pageable.getPageNumber() != 0 && totals != TotalsMode.EXACT) {
+            return ResponseEntity.ok(stallService.getStallSlice(
+                    resolveEvent(eventId), status, stallSize, location, minPrice, maxPrice, pageable, totals));
+        }
         Page<StallResponse> stalls = pageable.getPageNumber() == 0 
-            ? stallService.getAllStalls(status, stallSize, location, pageable.getSort())
-            : stallService.getStalls(status, stallSize, location, pageable);
+            ? stallService.getAllStalls(resolveEvent(eventId), status, stallSize, location, minPrice, maxPrice, pageable.getSort())
+            : stallService.getStalls(resolveEvent(eventId), status, stallSize, location, minPrice, maxPrice, pageable);
         return ResponseEntity.ok(stalls);
     }
 
+    @GetMapping("/halls")
+    @Operation(summary = "Summarise stalls per hall",
+               description = "Requires: VIEWER role or higher. Counts per status and price range for each hall")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<List<HallSummaryResponse>> getHallSummaries(@PathVariable(required = false) Long eventId) {
+        return ResponseEntity.ok(stallService.getHallSummaries(resolveEvent(eventId)));
+    }
+
+    @GetMapping("/halls/{hall}")
+    @Operation(summary = "Get the floor plan of a hall",
+               description = "Requires: VIEWER role or higher. Stalls ordered by wing, row and slot")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<List<StallResponse>> getFloorPlan(
+            @PathVariable(required = false) Long eventId,
+            @Parameter(description = "Hall name, e.g. 'Hall B'") @PathVariable String hall,
+            @Parameter(description = "Restrict to a wing, e.g. 'East Wing'") @RequestParam(required = false) String wing
+    ) {
+        return ResponseEntity.ok(stallService.getFloorPlan(resolveEvent(eventId), hall, wing));
+    }
+
+    @GetMapping("/nearest")
+    @Operation(summary = "Find the nearest available stalls",
+               description = "Requires: VIEWER role or higher. Distance from a floor-plan point (x, y) or from another stall")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<List<NearbyStallResponse>> getNearestStalls(
+            @PathVariable(required = false) Long eventId,
+            @Parameter(description = "Floor-plan x coordinate") @RequestParam(required = false) Double x,
+            @Parameter(description = "Floor-plan y coordinate") @RequestParam(required = false) Double y,
+            @Parameter(description = "Measure distance from this stall instead") @RequestParam(required = false) Long nearStallId,
+            @Parameter(description = "Filter by size") @RequestParam(name = "stallSize", required = false) StallSize stallSize,
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Number of stalls to return (max 50)") @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(stallService.findNearestAvailable(
+                resolveEvent(eventId), x, y, nearStallId, stallSize, maxPrice, limit));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search stalls by code and location",
+               description = "Requires: VIEWER role or higher. Every word must match as a prefix; best matches first, " +
+                       "with matched words wrapped in <mark> tags in highlight")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<List<StallSearchResponse>> searchStalls(
+            @PathVariable(required = false) Long eventId,
+            @Parameter(description = "Search text, e.g. premium corner hall A") @RequestParam String q,
+            @Parameter(description = "Number of stalls to return (max " + StallService.MAX_SEARCH_LIMIT + ")")
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(stallService.searchStalls(resolveEvent(eventId), q, limit));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get several stalls by ID and/or code",
+               description = "Requires: VIEWER role or higher. Up to " + StallService.MAX_BATCH_KEYS +
+                       " keys in total. Results are keyed by the requested id or code; unknown keys are listed as missing")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<StallBatchResponse> getStallsBatch(
+            @PathVariable(required = false) Long eventId,
+            @Parameter(description = "Stall ids, e.g. ids=1,2,3") @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Stall codes, e.g. codes=A-001,B-002") @RequestParam(required = false) List<String> codes
+    ) {
+        return ResponseEntity.ok(stallService.getStallsBatch(resolveEvent(eventId), ids, codes));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get stalls changed since a watermark",
+               description = "Requires: VIEWER role or higher. Returns changes oldest first in bounded batches with " +
+                       "a new watermark; omit since to start from the beginning")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<StallChangesResponse> getChanges(
+            @PathVariable(required = false) Long eventId,
+            @Parameter(description = "Watermark from the previous response") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum changes to return") @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(stallChangeFeedService.getChanges(resolveEvent(eventId), since, limit));
+    }
+
+    @PostMapping("/quote")
+    @Operation(summary = "Quote effective prices for several stalls",
+               description = "Requires: VIEWER role or higher. Applies the configured pricing rules to each stall; " +
+                       "quantity-based rules see the number of stalls found. Unknown ids are listed as missing")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<StallQuoteResponse> quoteStalls(
+            @PathVariable(required = false) Long eventId,
+            @Valid @RequestBody StallQuoteRequest request
+    ) {
+        return ResponseEntity.ok(stallService.quoteStalls(resolveEvent(eventId), request));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a stall by ID",
                description = "Requires: VIEWER role or higher")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
-    public ResponseEntity<StallResponse> getStallById(@PathVariable Long id) {
-        StallResponse stall = stallService.getStallById(id);
+    public ResponseEntity<StallResponse> getStallById(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id
+    ) {
+        StallResponse stall = stallService.getStallById(resolveEvent(eventId), id);
         return ResponseEntity.ok(stall);
     }
 
@@ -58,8 +186,11 @@ public class StallController {
     @Operation(summary = "Get a stall by code",
                description = "Requires: VIEWER role or higher")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VIEWER', 'MANAGER', 'ADMIN')")
-    public ResponseEntity<StallResponse> getStallByCode(@PathVariable String code) {
-        StallResponse stall = stallService.getStallByCode(code);
+    public ResponseEntity<StallResponse> getStallByCode(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable String code
+    ) {
+        StallResponse stall = stallService.getStallByCode(resolveEvent(eventId), code);
         return ResponseEntity.ok(stall);
     }
 
@@ -67,9 +198,17 @@ public class StallController {
     @Operation(summary = "Create a new stall",
                description = "Requires: ADMIN role")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<StallResponse> createStall(@Valid @RequestBody CreateStallRequest request) {
-        StallResponse stall = stallService.createStall(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(stall);
+    public ResponseEntity<StallResponse> createStall(
+            @PathVariable(required = false) Long eventId,
+            @Valid @RequestBody CreateStallRequest request,
+            @Parameter(description = "Client key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        Long event = resolveEvent(eventId);
+        return idempotencyService.execute(idempotencyKey, "createStall:" + event, request, () -> {
+            StallResponse stall = stallService.createStall(event, request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(stall);
+        });
     }
 
     @PutMapping("/{id}")
@@ -77,37 +216,138 @@ public class StallController {
                description = "Requires: MANAGER role or higher")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
     public ResponseEntity<StallResponse> updateStall(
+            @PathVariable(required = false) Long eventId,
             @PathVariable Long id,
-            @Valid @RequestBody UpdateStallRequest request
+            @Valid @RequestBody UpdateStallRequest request,
+            @Parameter(description = "Client key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        StallResponse stall = stallService.updateStall(id, request);
-        return ResponseEntity.ok(stall);
+        Long event = resolveEvent(eventId);
+        return idempotencyService.execute(idempotencyKey, "updateStall:" + event + ":" + id, request,
+                () -> ResponseEntity.ok(stallService.updateStall(event, id, request)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a stall",
+               description = "Requires: ADMIN role. Soft delete: the stall disappears from all queries but " +
+                       "the change feed reports it as a tombstone. RESERVED stalls must be released first")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteStall(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id
+    ) {
+        stallService.deleteStall(resolveEvent(eventId), id);
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{id}/hold")
     @Operation(summary = "Hold a stall (idempotent)",
-               description = "Requires: MANAGER role or higher")
+               description = "Requires: MANAGER role or higher. With queue=true a stall that is not AVAILABLE " +
+                       "answers 202 with a waitlist position; when it is released it is held for the caller " +
+                       "and a stall.offered event is published")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
-    public ResponseEntity<StallResponse> holdStall(@PathVariable Long id) {
-        StallResponse stall = stallService.holdStall(id);
-        return ResponseEntity.ok(stall);
+    public ResponseEntity<?> holdStall(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id,
+            @Parameter(description = "Join the stall's waitlist instead of failing when it is not AVAILABLE")
+            @RequestParam(defaultValue = "false") boolean queue,
+            @Parameter(description = "Client key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication authentication
+    ) {
+        Long event = resolveEvent(eventId);
+        if (queue) {
+            return idempotencyService.execute(idempotencyKey, "queueHold:" + event + ":" + id, null,
+                    () -> holdOrQueue(event, id, authentication.getName()));
+        }
+        return idempotencyService.execute(idempotencyKey, "holdStall:" + event + ":" + id, null,
+                () -> {
+                    StallInventoryEngine engine = inventoryEngine.getIfAvailable();
+                    return ResponseEntity.ok(engine != null
+                            ? engine.holdStall(event, id)
+                            : stallService.holdStall(event, id));
+                });
     }
 
     @PostMapping("/{id}/release")
     @Operation(summary = "Release a stall (idempotent)",
                description = "Requires: MANAGER role or higher")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
-    public ResponseEntity<StallResponse> releaseStall(@PathVariable Long id) {
-        StallResponse stall = stallService.releaseStall(id);
-        return ResponseEntity.ok(stall);
+    public ResponseEntity<StallResponse> releaseStall(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id,
+            @Parameter(description = "Client key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        Long event = resolveEvent(eventId);
+        return idempotencyService.execute(idempotencyKey, "releaseStall:" + event + ":" + id, null,
+                () -> {
+                    StallInventoryEngine engine = inventoryEngine.getIfAvailable();
+                    return ResponseEntity.ok(engine != null
+                            ? engine.releaseStall(event, id)
+                            : stallService.releaseStall(event, id));
+                });
     }
 
     @PostMapping("/{id}/reserve")
     @Operation(summary = "Reserve a stall (idempotent)",
                description = "Requires: MANAGER role or higher")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
-    public ResponseEntity<StallResponse> reserveStall(@PathVariable Long id) {
-        StallResponse stall = stallService.reserveStall(id);
-        return ResponseEntity.ok(stall);
+    public ResponseEntity<StallResponse> reserveStall(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id,
+            @Parameter(description = "Client key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        Long event = resolveEvent(eventId);
+        return idempotencyService.execute(idempotencyKey, "reserveStall:" + event + ":" + id, null,
+                () -> {
+                    StallInventoryEngine engine = inventoryEngine.getIfAvailable();
+                    return ResponseEntity.ok(engine != null
+                            ? engine.reserveStall(event, id)
+                            : stallService.reserveStall(event, id));
+                });
+    }
+
+    @GetMapping("/{id}/waiters")
+    @Operation(summary = "List the waitlist of a stall",
+               description = "Requires: MANAGER role or higher. Oldest waiter first")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<List<StallWaiterResponse>> getWaiters(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(stallWaitlistService.getWaiters(resolveEvent(eventId), id));
+    }
+
+    @DeleteMapping("/{id}/waiters")
+    @Operation(summary = "Leave the waitlist of a stall",
+               description = "Requires: MANAGER role or higher. Removes the caller's own entry")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<Void> leaveWaitlist(
+            @PathVariable(required = false) Long eventId,
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        stallWaitlistService.leave(resolveEvent(eventId), id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Queue first, then try the hold, so a release between the two still finds the caller queued
+    private ResponseEntity<Object> holdOrQueue(Long event, Long id, String username) {
+        StallWaiterResponse waiter = stallWaitlistService.join(event, id, username);
+        StallInventoryEngine engine = inventoryEngine.getIfAvailable();
+        Optional<StallResponse> held = engine != null
+                ? engine.holdIfAvailable(event, id)
+                : stallService.holdIfAvailable(event, id);
+        if (held.isPresent()) {
+            stallWaitlistService.leave(event, id, username);
+            return ResponseEntity.ok(held.get());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(waiter);
+    }
+
+    private Long resolveEvent(Long eventId) {
+        return eventId != null ? eventId : eventProperties.getDefaultEventId();
     }
 }
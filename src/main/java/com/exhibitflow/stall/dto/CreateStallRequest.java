@@ -26,6 +26,24 @@ public class CreateStallRequest {
     @Size(max = 255, message = "Location must not exceed 255 characters")
     private String location;
 
+    // Optional structured location; parts left empty are derived from location
+    @Size(max = 100, message = "Hall must not exceed 100 characters")
+    private String hall;
+
+    @Size(max = 100, message = "Wing must not exceed 100 characters")
+    private String wing;
+
+    @Size(max = 50, message = "Row must not exceed 50 characters")
+    private String row;
+
+    @Size(max = 50, message = "Slot must not exceed 50 characters")
+    private String slot;
+
+    // Optional floor-plan coordinates in metres
+    private Double posX;
+
+    private Double posY;
+
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
     @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 integer digits and 2 decimal places")
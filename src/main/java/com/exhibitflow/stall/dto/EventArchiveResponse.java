@@ -0,0 +1,21 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventArchiveResponse {
+    private Long eventId;
+    /** Stalls moved to the archive by this run, soft-deleted ones included */
+    private long archivedStalls;
+    private int batches;
+    private LocalDateTime archivedAt;
+    private long durationMillis;
+}
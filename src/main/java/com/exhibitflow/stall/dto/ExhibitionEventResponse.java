@@ -0,0 +1,20 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExhibitionEventResponse {
+    private Long id;
+    private String name;
+    private LocalDateTime createdAt;
+    private LocalDateTime endsAt;
+    private LocalDateTime archivedAt;
+}
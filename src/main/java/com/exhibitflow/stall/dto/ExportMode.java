@@ -0,0 +1,11 @@
+package com.exhibitflow.stall.dto;
+
+/**
+ * What a catalogue snapshot export contains.
+ */
+public enum ExportMode {
+    /** Every stall */
+    FULL,
+    /** Stalls changed since the previous export; a full export when there was none */
+    INCREMENTAL
+}
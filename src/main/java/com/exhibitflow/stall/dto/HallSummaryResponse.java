@@ -0,0 +1,22 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HallSummaryResponse {
+    private String hall;
+    private Long totalStalls;
+    private Long availableStalls;
+    private Long heldStalls;
+    private Long reservedStalls;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
@@ -0,0 +1,30 @@
+package com.exhibitflow.stall.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogTraceRequest {
+
+    private Long stallId;
+
+    private String username;
+
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    @Max(value = 240, message = "Duration must not exceed 240 minutes")
+    @Builder.Default
+    private int durationMinutes = 15;
+
+    @AssertTrue(message = "Either stallId or username is required")
+    private boolean isTargetPresent() {
+        return stallId != null || (username != null && !username.isBlank());
+    }
+}
@@ -0,0 +1,18 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LogTraceResponse {
+    private Long stallId;
+    private String username;
+    private Instant expiresAt;
+}
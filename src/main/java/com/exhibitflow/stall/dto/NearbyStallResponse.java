@@ -0,0 +1,15 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyStallResponse {
+    private StallResponse stall;
+    private double distance;
+}
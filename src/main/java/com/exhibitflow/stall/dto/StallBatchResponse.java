@@ -0,0 +1,20 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallBatchResponse {
+    private Map<Long, StallResponse> byId;
+    private Map<String, StallResponse> byCode;
+    private List<Long> missingIds;
+    private List<String> missingCodes;
+}
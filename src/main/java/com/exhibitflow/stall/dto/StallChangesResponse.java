@@ -0,0 +1,21 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallChangesResponse {
+    /** Changed stalls, oldest change first */
+    private List<StallResponse> changes;
+    /** Pass as since to get the next changes; unchanged when there were none */
+    private String watermark;
+    /** More changes are available right away */
+    private boolean hasMore;
+}
@@ -12,7 +12,10 @@ import lombok.NoArgsConstructor;
 @Builder
 public class StallEventDto {
     private Long stallId;
+    private Long eventId;
     private String code;
     private StallStatus status;
     private String location;
+    /** Set on stall.offered events: the waiter the stall is now held for */
+    private String heldFor;
 }
@@ -0,0 +1,25 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallExportResponse {
+    private ExportMode mode;
+    private String file;
+    private long rows;
+    private long bytes;
+    /** Exclusive lower bound of updated_at; null for a full export */
+    private LocalDateTime since;
+    /** Inclusive upper bound of updated_at, the watermark of the next incremental export */
+    private LocalDateTime until;
+    private long durationMillis;
+    private double rowsPerSecond;
+}
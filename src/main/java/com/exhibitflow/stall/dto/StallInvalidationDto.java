@@ -0,0 +1,19 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallInvalidationDto {
+    private Long stallId;
+    private Long eventId;
+    /** Version written by the change; null when unknown, e.g. after a bulk status update */
+    private Long version;
+    /** Instance that made the change */
+    private String origin;
+}
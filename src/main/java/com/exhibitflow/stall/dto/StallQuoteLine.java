@@ -0,0 +1,26 @@
+package com.exhibitflow.stall.dto;
+
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallQuoteLine {
+    private Long stallId;
+    private String code;
+    private StallSize size;
+    private String location;
+    private StallStatus status;
+    private BigDecimal basePrice;
+    private BigDecimal effectivePrice;
+    private List<String> appliedRules;
+}
@@ -0,0 +1,23 @@
+package com.exhibitflow.stall.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallQuoteRequest {
+
+    @NotEmpty(message = "At least one stall id is required")
+    private List<Long> stallIds;
+
+    /** Time the prices apply at; defaults to now */
+    private LocalDateTime at;
+}
@@ -0,0 +1,24 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallQuoteResponse {
+    private Long eventId;
+    private LocalDateTime quotedAt;
+    /** Stalls found; quantity-based rules apply when this reaches their minimum */
+    private int quantity;
+    private List<StallQuoteLine> lines;
+    private List<Long> missingIds;
+    private BigDecimal total;
+}
@@ -16,11 +16,24 @@ import java.time.LocalDateTime;
 @Builder
 public class StallResponse {
     private Long id;
+    private Long eventId;
     private String code;
     private StallSize size;
     private String location;
+    private String hall;
+    private String wing;
+    private String row;
+    private String slot;
+    private Double posX;
+    private Double posY;
     private BigDecimal price;
+    /** Price after pricing rules; set on list responses */
+    private BigDecimal effectivePrice;
     private StallStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    /** Incremented on every write */
+    private Long version;
+    /** Set only on change feed tombstones */
+    private LocalDateTime deletedAt;
 }
@@ -0,0 +1,17 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallSearchResponse {
+    private StallResponse stall;
+    private double rank;
+    /** Code and location with matched words wrapped in &lt;mark&gt; tags */
+    private String highlight;
+}
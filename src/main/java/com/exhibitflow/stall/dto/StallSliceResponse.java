@@ -0,0 +1,23 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallSliceResponse {
+    private List<StallResponse> content;
+    private int page;
+    private int size;
+    private int numberOfElements;
+    private boolean hasNext;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean totalsApproximate;
+}
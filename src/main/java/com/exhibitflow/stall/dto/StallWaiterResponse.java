@@ -0,0 +1,22 @@
+package com.exhibitflow.stall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallWaiterResponse {
+    private Long stallId;
+    private Long eventId;
+    private String username;
+    /** 1 for the next caller to be offered the stall */
+    private long position;
+    private LocalDateTime queuedAt;
+    private LocalDateTime expiresAt;
+}
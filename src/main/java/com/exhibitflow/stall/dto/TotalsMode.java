@@ -0,0 +1,13 @@
+package com.exhibitflow.stall.dto;
+
+/**
+ * How a paged stall list reports its totals.
+ */
+public enum TotalsMode {
+    /** Exact COUNT(*) with every page (default) */
+    EXACT,
+    /** Totals reused from a short-lived cache per filter combination */
+    APPROXIMATE,
+    /** No totals; only whether a next page exists */
+    NONE
+}
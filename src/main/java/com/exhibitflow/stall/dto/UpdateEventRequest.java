@@ -0,0 +1,21 @@
+package com.exhibitflow.stall.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateEventRequest {
+
+    @Size(max = 255, message = "Name must not exceed 255 characters")
+    private String name;
+
+    private LocalDateTime endsAt;
+}
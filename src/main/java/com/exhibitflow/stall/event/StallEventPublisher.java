@@ -20,13 +20,21 @@ public class StallEventPublisher {
     @Value("${kafka.topics.stall-released}")
     private String stallReleasedTopic;
 
+    @Value("${kafka.topics.stall-offered}")
+    private String stallOfferedTopic;
+
     public void publishStallReserved(StallEventDto event) {
-        log.info("Publishing stall reserved event for stall: {}", event.getStallId());
+        log.debug("Publishing stall reserved event for stall: {}", event.getStallId());
         kafkaTemplate.send(stallReservedTopic, event.getStallId().toString(), event);
     }
 
     public void publishStallReleased(StallEventDto event) {
-        log.info("Publishing stall released event for stall: {}", event.getStallId());
+        log.debug("Publishing stall released event for stall: {}", event.getStallId());
         kafkaTemplate.send(stallReleasedTopic, event.getStallId().toString(), event);
     }
+
+    public void publishStallOffered(StallEventDto event) {
+        log.debug("Publishing stall offered event for stall: {} to {}", event.getStallId(), event.getHeldFor());
+        kafkaTemplate.send(stallOfferedTopic, event.getStallId().toString(), event);
+    }
 }
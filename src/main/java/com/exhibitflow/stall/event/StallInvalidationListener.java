@@ -0,0 +1,44 @@
+package com.exhibitflow.stall.event;
+
+import com.exhibitflow.stall.config.InvalidationConfig;
+import com.exhibitflow.stall.config.InvalidationProperties;
+import com.exhibitflow.stall.dto.StallInvalidationDto;
+import com.exhibitflow.stall.service.StallCountCache;
+import com.exhibitflow.stall.service.StallReadModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies stall changes announced by other instances: refreshes the stall in the read model and
+ * drops the cached list totals of its event.
+ */
+@Service
+@ConditionalOnProperty(prefix = "stall.invalidation", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StallInvalidationListener {
+
+    private final InvalidationProperties properties;
+    private final StallCountCache countCache;
+    private final ObjectProvider<StallReadModel> readModel;
+
+    @KafkaListener(
+            topics = "${stall.invalidation.topic}",
+            groupId = "stall-invalidation-${stall.invalidation.instance-id}",
+            containerFactory = InvalidationConfig.LISTENER_CONTAINER_FACTORY)
+    public void onInvalidation(StallInvalidationDto message) {
+        log.debug("Received invalidation for stall: {} at version {} from {}",
+                message.getStallId(), message.getVersion(), message.getOrigin());
+        // Totals are cached per filter combination; any change may move a stall between them
+        countCache.evictEvent(message.getEventId());
+        if (message.getVersion() != null && properties.getInstanceId().equals(message.getOrigin())) {
+            // Applied to the read model at commit already; archival of this instance carries no version
+            return;
+        }
+        readModel.ifAvailable(model -> model.refresh(message.getEventId(), message.getStallId(), message.getVersion()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.exhibitflow.stall.event;
+
+import com.exhibitflow.stall.config.InvalidationProperties;
+import com.exhibitflow.stall.dto.StallInvalidationDto;
+import com.exhibitflow.stall.model.Stall;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Announces changed stalls to the other instances once the writing transaction commits.
+ *
+ * <p>Sends are not retried: a lost message delays the other instances until their read model's
+ * regular catch-up, as without this publisher.
+ */
+@Service
+@ConditionalOnProperty(prefix = "stall.invalidation", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StallInvalidationPublisher {
+
+    private final KafkaTemplate<String, StallInvalidationDto> kafkaTemplate;
+    private final InvalidationProperties properties;
+
+    /**
+     * Announce a stall written through JPA. Its version is read at commit, after the flush has
+     * incremented it.
+     */
+    public void publishAfterCommit(Stall stall) {
+        afterCommit(() -> send(stall.getEventId(), stall.getId(), stall.getVersion()));
+    }
+
+    /**
+     * Announce stalls that were removed in bulk, i.e. archived; receivers reload them to find out.
+     */
+    public void publishAfterCommit(Long eventId, Collection<Long> stallIds) {
+        List<Long> ids = List.copyOf(stallIds);
+        afterCommit(() -> ids.forEach(id -> send(eventId, id, null)));
+    }
+
+    private void send(Long eventId, Long stallId, Long version) {
+        log.debug("Publishing invalidation for stall: {} at version {}", stallId, version);
+        StallInvalidationDto message = StallInvalidationDto.builder()
+                .stallId(stallId)
+                .eventId(eventId)
+                .version(version)
+                .origin(properties.getInstanceId())
+                .build();
+        kafkaTemplate.send(properties.getTopic(), stallId.toString(), message);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.exhibitflow.stall.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A stall of a finished exhibition, moved out of the stall table by the archival job.
+ *
+ * <p>Rows are written only by the INSERT ... SELECT in {@code StallRepository#copyToArchive}.
+ */
+@Entity
+@Table(name = "stall_archive")
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedStall {
+
+    @Id
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false, length = 50)
+    private String code;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StallSize size;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(length = StallLocation.MAX_HALL_LENGTH)
+    private String hall;
+
+    @Column(length = StallLocation.MAX_WING_LENGTH)
+    private String wing;
+
+    @Column(name = "row_label", length = StallLocation.MAX_ROW_LENGTH)
+    private String rowLabel;
+
+    @Column(length = StallLocation.MAX_SLOT_LENGTH)
+    private String slot;
+
+    @Column(name = "pos_x")
+    private Double posX;
+
+    @Column(name = "pos_y")
+    private Double posY;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StallStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,51 @@
+package com.exhibitflow.stall.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An exhibition (show) that stalls belong to.
+ *
+ * <p>Event ids are assigned by the event owner rather than generated here. In PostgreSQL every
+ * event gets its own partition of the stall table, created by a trigger when the event row is
+ * inserted (see V3__partition_stall_by_event.sql).
+ */
+@Entity
+@Table(name = "exhibition_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExhibitionEvent {
+
+    @Id
+    private Long id;
+
+    @Column
+    private String name;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * End of the exhibition; stalls are archived once it lies further back than the retention
+     */
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    /**
+     * Set when all stalls of the event have been moved to stall_archive
+     */
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,32 @@
+package com.exhibitflow.stall.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-owner lease on the stall inventory. Only the instance named in {@code owner} may change
+ * stall statuses from memory, and only until {@code expiresAt}.
+ */
+@Entity
+@Table(name = "inventory_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -5,12 +5,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
+/**
+ * A stall of an exhibition event.
+ *
+ * <p>Soft-deleted stalls keep their row with {@code deletedAt} set and are hidden from every
+ * entity query by the {@link SQLRestriction}; native queries must filter them themselves. Codes
+ * are unique among live stalls of an event (partial index uk_stall_event_code, V10).
+ */
 @Entity
 @Table(name = "stall")
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +31,10 @@ public class Stall {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private Long eventId;
+
+    @Column(nullable = false, length = 50)
     private String code;
 
     @Enumerated(EnumType.STRING)
@@ -31,6 +44,24 @@ public class Stall {
     @Column(nullable = false)
     private String location;
 
+    @Column(length = StallLocation.MAX_HALL_LENGTH)
+    private String hall;
+
+    @Column(length = StallLocation.MAX_WING_LENGTH)
+    private String wing;
+
+    @Column(name = "row_label", length = StallLocation.MAX_ROW_LENGTH)
+    private String rowLabel;
+
+    @Column(length = StallLocation.MAX_SLOT_LENGTH)
+    private String slot;
+
+    @Column(name = "pos_x")
+    private Double posX;
+
+    @Column(name = "pos_y")
+    private Double posY;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
@@ -44,14 +75,36 @@ public class Stall {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    /**
+     * Incremented on every write, including the inventory engine's bulk status updates
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = now();
+        updatedAt = createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = now();
+    }
+
+    // Microseconds, as stored, so change feed watermarks taken from managed entities match the rows
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public void applyLocation(StallLocation structured) {
+        this.hall = structured.getHall();
+        this.wing = structured.getWing();
+        this.rowLabel = structured.getRow();
+        this.slot = structured.getSlot();
     }
 }
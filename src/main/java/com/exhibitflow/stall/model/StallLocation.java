@@ -0,0 +1,52 @@
+package com.exhibitflow.stall.model;
+
+import lombok.Value;
+
+/**
+ * Structured form of a stall location: hall / wing / row / slot.
+ *
+ * <p>Free-text locations follow the convention {@code "<hall> - <wing>, <row>"}, for example
+ * {@code "Hall A - North Wing, Row 1"} or {@code "Outdoor Plaza - East Side"}. {@link #parse(String)}
+ * splits such strings the same way V4__structured_stall_location.sql backfilled existing rows.
+ */
+@Value
+public class StallLocation {
+
+    public static final int MAX_HALL_LENGTH = 100;
+    public static final int MAX_WING_LENGTH = 100;
+    public static final int MAX_ROW_LENGTH = 50;
+    public static final int MAX_SLOT_LENGTH = 50;
+
+    String hall;
+    String wing;
+    String row;
+    String slot;
+
+    /**
+     * Parse a free-text location. Missing parts are returned as null.
+     *
+     * @param location the free-text location, e.g. "Hall B - East Wing, Row 2"
+     * @return the structured location (slot is never derived from free text)
+     */
+    public static StallLocation parse(String location) {
+        if (location == null) {
+            return new StallLocation(null, null, null, null);
+        }
+        String[] sections = location.split(" - ", -1);
+        String[] area = sections.length > 1 ? sections[1].split(",", -1) : new String[0];
+
+        return new StallLocation(
+                part(sections[0], MAX_HALL_LENGTH),
+                area.length > 0 ? part(area[0], MAX_WING_LENGTH) : null,
+                area.length > 1 ? part(area[1], MAX_ROW_LENGTH) : null,
+                null);
+    }
+
+    private static String part(String value, int maxLength) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        return trimmed.length() > maxLength ? trimmed.substring(0, maxLength) : trimmed;
+    }
+}
@@ -0,0 +1,43 @@
+package com.exhibitflow.stall.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A caller queued for a stall that was not AVAILABLE when they tried to hold it. Waiters are
+ * offered the stall in {@code queuedAt} order when it is released.
+ */
+@Entity
+@Table(name = "stall_waiter", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stall_waiter", columnNames = {"stall_id", "username"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallWaiter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "stall_id", nullable = false)
+    private Long stallId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "queued_at", nullable = false)
+    private LocalDateTime queuedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,11 @@
+package com.exhibitflow.stall.repository;
+
+import com.exhibitflow.stall.model.ArchivedStall;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedStallRepository extends JpaRepository<ArchivedStall, Long> {
+
+    long countByEventId(Long eventId);
+}
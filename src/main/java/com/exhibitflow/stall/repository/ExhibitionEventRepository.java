@@ -0,0 +1,14 @@
+package com.exhibitflow.stall.repository;
+
+import com.exhibitflow.stall.model.ExhibitionEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExhibitionEventRepository extends JpaRepository<ExhibitionEvent, Long> {
+
+    List<ExhibitionEvent> findByEndsAtBeforeAndArchivedAtIsNullOrderByEndsAt(LocalDateTime endedBefore);
+}
@@ -0,0 +1,35 @@
+package com.exhibitflow.stall.repository;
+
+import com.exhibitflow.stall.model.InventoryLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface InventoryLeaseRepository extends JpaRepository<InventoryLease, String> {
+
+    // Renews our own lease or takes over an expired one; returns 0 while another owner holds it
+    @Modifying
+    @Query("UPDATE InventoryLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int acquireOrRenew(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now
+    );
+
+    // Fences a flush: the updated row stays locked until the flush commits, so a takeover cannot interleave.
+    // Succeeds past expiry as long as nobody has taken over, so acknowledged transitions still get written.
+    @Modifying
+    @Query("UPDATE InventoryLease l SET l.expiresAt = :expiresAt WHERE l.name = :name AND l.owner = :owner")
+    int renewIfOwned(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+}
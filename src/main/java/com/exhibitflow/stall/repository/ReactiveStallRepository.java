@@ -0,0 +1,154 @@
+package com.exhibitflow.stall.repository;
+
+import com.exhibitflow.stall.config.ReactiveReadProperties;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking stall reads over R2DBC, mirroring the read queries of {@link StallRepository}.
+ *
+ * <p>Rows are fetched in batches of stall.reactive.fetch-size and emitted as they are requested,
+ * so a slow client holds back the query instead of buffering the whole result.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stall.reactive", name = "enabled", havingValue = "true")
+public class ReactiveStallRepository {
+
+    private static final String SELECT = "SELECT id, event_id, code, size, location, hall, wing, row_label, slot, " +
+            "pos_x, pos_y, price, status, created_at, updated_at, version FROM stall ";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "code", "code",
+            "size", "size",
+            "location", "location",
+            "hall", "hall",
+            "price", "price",
+            "status", "status",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private final DatabaseClient reactiveDatabaseClient;
+    private final ReactiveReadProperties properties;
+
+    public Mono<Stall> findByEventIdAndId(Long eventId, Long id) {
+        return reactiveDatabaseClient.sql(SELECT + "WHERE event_id = :eventId AND id = :id AND deleted_at IS NULL")
+                .bind("eventId", eventId)
+                .bind("id", id)
+                .map(ReactiveStallRepository::mapRow)
+                .one();
+    }
+
+    public Mono<Stall> findByEventIdAndCode(Long eventId, String code) {
+        return reactiveDatabaseClient.sql(SELECT + "WHERE event_id = :eventId AND code = :code AND deleted_at IS NULL")
+                .bind("eventId", eventId)
+                .bind("code", code)
+                .map(ReactiveStallRepository::mapRow)
+                .one();
+    }
+
+    /**
+     * Same filters as {@link StallRepository#findByFilters}.
+     *
+     * @param limit maximum number of rows, or null for all matching rows
+     */
+    public Flux<Stall> findByFilters(Long eventId, StallStatus status, StallSize size, String location,
+                                     BigDecimal minPrice, BigDecimal maxPrice, Sort sort, long offset, Integer limit) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE event_id = :eventId AND deleted_at IS NULL");
+        bindings.put("eventId", eventId);
+        if (status != null) {
+            sql.append(" AND status = :status");
+            bindings.put("status", status.name());
+        }
+        if (size != null) {
+            sql.append(" AND size = :size");
+            bindings.put("size", size.name());
+        }
+        if (minPrice != null) {
+            sql.append(" AND price >= :minPrice");
+            bindings.put("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            sql.append(" AND price <= :maxPrice");
+            bindings.put("maxPrice", maxPrice);
+        }
+        if (location != null && !location.isEmpty()) {
+            sql.append(" AND LOWER(location) LIKE :location");
+            bindings.put("location", "%" + location.toLowerCase() + "%");
+        }
+        sql.append(orderBy(sort));
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+            bindings.put("limit", limit);
+        }
+        if (offset > 0) {
+            sql.append(" OFFSET :offset");
+            bindings.put("offset", offset);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = reactiveDatabaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()));
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(ReactiveStallRepository::mapRow).all();
+    }
+
+    public static boolean isSortable(String property) {
+        return SORT_COLUMNS.containsKey(property);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // Stable order for paging
+        if (sort.getOrderFor("id") == null) {
+            orderBy.add("id ASC");
+        }
+        return orderBy.toString();
+    }
+
+    private static Stall mapRow(Readable row) {
+        return Stall.builder()
+                .id(row.get("id", Long.class))
+                .eventId(row.get("event_id", Long.class))
+                .code(row.get("code", String.class))
+                .size(StallSize.valueOf(row.get("size", String.class)))
+                .location(row.get("location", String.class))
+                .hall(row.get("hall", String.class))
+                .wing(row.get("wing", String.class))
+                .rowLabel(row.get("row_label", String.class))
+                .slot(row.get("slot", String.class))
+                .posX(row.get("pos_x", Double.class))
+                .posY(row.get("pos_y", Double.class))
+                .price(row.get("price", BigDecimal.class))
+                .status(StallStatus.valueOf(row.get("status", String.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
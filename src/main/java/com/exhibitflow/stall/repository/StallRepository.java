@@ -1,41 +1,215 @@
 package com.exhibitflow.stall.repository;
 
+import com.exhibitflow.stall.dto.HallSummaryResponse;
 import com.exhibitflow.stall.model.Stall;
 import com.exhibitflow.stall.model.StallSize;
 import com.exhibitflow.stall.model.StallStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StallRepository extends JpaRepository<Stall, Long> {
+public interface StallRepository extends JpaRepository<Stall, Long>, JpaSpecificationExecutor<Stall> {
 
-    Optional<Stall> findByCode(String code);
+    Optional<Stall> findByEventIdAndId(Long eventId, Long id);
 
-    @Query("SELECT s FROM Stall s WHERE " +
-           "(:status IS NULL OR s.status = :status) AND " +
-           "(:size IS NULL OR s.size = :size) AND " +
-           "(:location IS NULL OR :location = '' OR LOWER(CAST(s.location AS string)) LIKE LOWER(CONCAT('%', :location, '%')))")
-    Page<Stall> findByFilters(
+    // Row lock that serialises writers guarding per-stall invariants kept outside the stall row.
+    // Native, as the PostgreSQL dialect renders PESSIMISTIC_WRITE as FOR NO KEY UPDATE, which H2 rejects
+    @Query(value = "SELECT id FROM stall WHERE event_id = :eventId AND id = :id AND deleted_at IS NULL FOR UPDATE",
+           nativeQuery = true)
+    Optional<Long> lockByEventIdAndId(@Param("eventId") Long eventId, @Param("id") Long id);
+
+    Optional<Stall> findByEventIdAndCode(Long eventId, String code);
+
+    List<Stall> findByEventIdAndIdIn(Long eventId, Collection<Long> ids);
+
+    List<Stall> findByEventIdAndCodeIn(Long eventId, Collection<String> codes);
+
+    @Query("SELECT s FROM Stall s WHERE s.eventId = :eventId AND (s.id IN :ids OR s.code IN :codes)")
+    List<Stall> findByEventIdAndIdInOrCodeIn(
+            @Param("eventId") Long eventId,
+            @Param("ids") Collection<Long> ids,
+            @Param("codes") Collection<String> codes
+    );
+
+    default Page<Stall> findByFilters(Long eventId, StallStatus status, StallSize size, String location,
+                                      BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return findAll(StallSpecifications.matching(eventId, status, size, location, minPrice, maxPrice), pageable);
+    }
+
+    // Fetches one extra row to tell whether a next page exists, without a COUNT(*)
+    default Slice<Stall> findSliceByFilters(Long eventId, StallStatus status, StallSize size, String location,
+                                            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return findBy(StallSpecifications.matching(eventId, status, size, location, minPrice, maxPrice),
+                query -> query.slice(pageable));
+    }
+
+    default long countByFilters(Long eventId, StallStatus status, StallSize size, String location,
+                                BigDecimal minPrice, BigDecimal maxPrice) {
+        return count(StallSpecifications.matching(eventId, status, size, location, minPrice, maxPrice));
+    }
+
+    default List<Stall> findAllByFilters(Long eventId, StallStatus status, StallSize size, String location,
+                                         BigDecimal minPrice, BigDecimal maxPrice, Sort sort) {
+        return findAll(StallSpecifications.matching(eventId, status, size, location, minPrice, maxPrice), sort);
+    }
+
+    // Write-behind flush of the inventory engine; event_id keeps the update on one partition
+    @Modifying
+    @Query("UPDATE Stall s SET s.status = :status, s.updatedAt = :updatedAt, s.version = s.version + 1 " +
+           "WHERE s.eventId = :eventId AND s.id IN :ids")
+    int updateStatuses(
+            @Param("eventId") Long eventId,
+            @Param("ids") Collection<Long> ids,
             @Param("status") StallStatus status,
-            @Param("size") StallSize size,
-            @Param("location") String location,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    // Floor-plan queries follow the (event_id, hall, wing, row_label, slot) index order
+    @Query("SELECT s FROM Stall s WHERE s.eventId = :eventId AND s.hall = :hall " +
+           "ORDER BY s.wing, s.rowLabel, s.slot, s.code")
+    List<Stall> findFloorPlan(@Param("eventId") Long eventId, @Param("hall") String hall);
+
+    @Query("SELECT s FROM Stall s WHERE s.eventId = :eventId AND s.hall = :hall AND s.wing = :wing " +
+           "ORDER BY s.rowLabel, s.slot, s.code")
+    List<Stall> findFloorPlanByWing(
+            @Param("eventId") Long eventId,
+            @Param("hall") String hall,
+            @Param("wing") String wing
+    );
+
+    @Query("SELECT new com.exhibitflow.stall.dto.HallSummaryResponse(s.hall, COUNT(s), " +
+           "SUM(CASE WHEN s.status = com.exhibitflow.stall.model.StallStatus.AVAILABLE THEN 1L ELSE 0L END), " +
+           "SUM(CASE WHEN s.status = com.exhibitflow.stall.model.StallStatus.HELD THEN 1L ELSE 0L END), " +
+           "SUM(CASE WHEN s.status = com.exhibitflow.stall.model.StallStatus.RESERVED THEN 1L ELSE 0L END), " +
+           "MIN(s.price), MAX(s.price)) " +
+           "FROM Stall s WHERE s.eventId = :eventId GROUP BY s.hall ORDER BY s.hall")
+    List<HallSummaryResponse> summarizeHalls(@Param("eventId") Long eventId);
+
+    // KNN search served by idx_stall_position_available (PostgreSQL GiST point index)
+    @Query(value = "SELECT * FROM stall s WHERE s.event_id = :eventId AND s.status = 'AVAILABLE' " +
+                   "AND s.deleted_at IS NULL " +
+                   "AND s.pos_x IS NOT NULL AND s.pos_y IS NOT NULL " +
+                   "AND (CAST(:excludeId AS bigint) IS NULL OR s.id <> CAST(:excludeId AS bigint)) " +
+                   "AND (CAST(:size AS varchar) IS NULL OR s.size = CAST(:size AS varchar)) " +
+                   "AND (CAST(:maxPrice AS numeric) IS NULL OR s.price <= CAST(:maxPrice AS numeric)) " +
+                   "ORDER BY point(s.pos_x, s.pos_y) <-> point(:x, :y) " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Stall> findNearestAvailable(
+            @Param("eventId") Long eventId,
+            @Param("x") double x,
+            @Param("y") double y,
+            @Param("excludeId") Long excludeId,
+            @Param("size") String size,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("limit") int limit
+    );
+
+    // Ranked full-text search served by idx_stall_search (GIN over the generated search_vector).
+    // Highlights are computed in the outer query, only for the rows that made the limit.
+    @Query(value = "SELECT hit.id AS id, hit.rank AS rank, " +
+                   "ts_headline('simple', hit.code || ' ' || hit.location, to_tsquery('simple', :query), " +
+                   "'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS highlight " +
+                   "FROM (SELECT s.id, s.code, s.location, " +
+                   "CAST(ts_rank_cd(s.search_vector, to_tsquery('simple', :query)) AS double precision) AS rank " +
+                   "FROM stall s WHERE s.event_id = :eventId AND s.deleted_at IS NULL " +
+                   "AND s.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY rank DESC, s.id LIMIT :limit) hit " +
+                   "ORDER BY hit.rank DESC, hit.id",
+           nativeQuery = true)
+    List<StallSearchHit> searchStalls(
+            @Param("eventId") Long eventId,
+            @Param("query") String query,
+            @Param("limit") int limit
+    );
+
+    // Exports read through a server-side cursor in chunks of 1000 rows instead of loading the table.
+    // Native so that soft-deleted stalls are exported with their deleted_at.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT * FROM stall s ORDER BY s.id", nativeQuery = true)
+    Stream<Stall> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT * FROM stall s WHERE s.updated_at > :since AND s.updated_at <= :until ORDER BY s.id",
+           nativeQuery = true)
+    Stream<Stall> streamUpdatedBetween(
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until
+    );
+
+    // Keyset scan of idx_stall_event_updated_at; rows with the same updated_at are ordered by id.
+    // Native so that soft-deleted stalls come through as tombstones.
+    @Query(value = "SELECT * FROM stall s WHERE s.event_id = :eventId AND s.updated_at <= :until " +
+                   "AND (s.updated_at > :since OR (s.updated_at = :since AND s.id > :afterId)) " +
+                   "ORDER BY s.updated_at, s.id",
+           nativeQuery = true)
+    Slice<Stall> findChangesAfter(
+            @Param("eventId") Long eventId,
+            @Param("since") LocalDateTime since,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
             Pageable pageable
     );
 
-    @Query("SELECT s FROM Stall s WHERE " +
-           "(:status IS NULL OR s.status = :status) AND " +
-           "(:size IS NULL OR s.size = :size) AND " +
-           "(:location IS NULL OR :location = '' OR LOWER(CAST(s.location AS string)) LIKE LOWER(CONCAT('%', :location, '%')))")
-    java.util.List<Stall> findAllByFilters(
-            @Param("status") StallStatus status,
-            @Param("size") StallSize size,
-            @Param("location") String location,
-            org.springframework.data.domain.Sort sort
+    // Same keyset scan across all events, served by idx_stall_updated_at; feeds StallReadModel
+    @Query(value = "SELECT * FROM stall s WHERE s.updated_at <= :until " +
+                   "AND (s.updated_at > :since OR (s.updated_at = :since AND s.id > :afterId)) " +
+                   "ORDER BY s.updated_at, s.id",
+           nativeQuery = true)
+    Slice<Stall> findAllChangesAfter(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
     );
+
+    // Includes soft-deleted rows, which are returned as tombstones
+    @Query(value = "SELECT * FROM stall s WHERE s.event_id = :eventId AND s.id = :id", nativeQuery = true)
+    Optional<Stall> findAnyByEventIdAndId(@Param("eventId") Long eventId, @Param("id") Long id);
+
+    // Archival works below the soft-delete restriction: live and deleted rows move alike
+    @Query(value = "SELECT s.id FROM stall s WHERE s.event_id = :eventId ORDER BY s.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findIdsToArchive(@Param("eventId") Long eventId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO stall_archive (id, event_id, code, size, location, hall, wing, row_label, slot, " +
+                   "pos_x, pos_y, price, status, created_at, updated_at, deleted_at, version, archived_at) " +
+                   "SELECT s.id, s.event_id, s.code, s.size, s.location, s.hall, s.wing, s.row_label, s.slot, " +
+                   "s.pos_x, s.pos_y, s.price, s.status, s.created_at, s.updated_at, s.deleted_at, s.version, :archivedAt " +
+                   "FROM stall s WHERE s.event_id = :eventId AND s.id IN :ids",
+           nativeQuery = true)
+    int copyToArchive(
+            @Param("eventId") Long eventId,
+            @Param("ids") Collection<Long> ids,
+            @Param("archivedAt") LocalDateTime archivedAt
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM stall WHERE event_id = :eventId AND id IN :ids", nativeQuery = true)
+    int deleteArchived(@Param("eventId") Long eventId, @Param("ids") Collection<Long> ids);
 }
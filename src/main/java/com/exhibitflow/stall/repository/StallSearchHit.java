@@ -0,0 +1,14 @@
+package com.exhibitflow.stall.repository;
+
+/**
+ * One row of {@link StallRepository#searchStalls}.
+ */
+public interface StallSearchHit {
+
+    Long getId();
+
+    Double getRank();
+
+    /** Code and location with matched words wrapped in {@code <mark>} tags */
+    String getHighlight();
+}
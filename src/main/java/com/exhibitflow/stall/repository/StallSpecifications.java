@@ -0,0 +1,66 @@
+package com.exhibitflow.stall.repository;
+
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Builds the stall list filter from only the criteria that were supplied.
+ *
+ * <p>Unlike a catch-all {@code (:param IS NULL OR ...)} query, every filter combination renders
+ * its own SQL, so PostgreSQL plans each one against {@code idx_stall_filter_price} instead of
+ * falling back to a generic plan that filters rows after the scan.
+ */
+public final class StallSpecifications {
+
+    private StallSpecifications() {
+    }
+
+    public static Specification<Stall> matching(Long eventId, StallStatus status, StallSize size, String location,
+                                                BigDecimal minPrice, BigDecimal maxPrice) {
+        Specification<Stall> spec = inEvent(eventId);
+        if (status != null) {
+            spec = spec.and(hasStatus(status));
+        }
+        if (size != null) {
+            spec = spec.and(hasSize(size));
+        }
+        if (minPrice != null) {
+            spec = spec.and(priceAtLeast(minPrice));
+        }
+        if (maxPrice != null) {
+            spec = spec.and(priceAtMost(maxPrice));
+        }
+        if (location != null && !location.isBlank()) {
+            spec = spec.and(locationContains(location));
+        }
+        return spec;
+    }
+
+    public static Specification<Stall> inEvent(Long eventId) {
+        return (root, query, cb) -> cb.equal(root.get("eventId"), eventId);
+    }
+
+    public static Specification<Stall> hasStatus(StallStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Stall> hasSize(StallSize size) {
+        return (root, query, cb) -> cb.equal(root.get("size"), size);
+    }
+
+    public static Specification<Stall> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Stall> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Stall> locationContains(String location) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("location")), "%" + location.toLowerCase() + "%");
+    }
+}
@@ -0,0 +1,56 @@
+package com.exhibitflow.stall.repository;
+
+import com.exhibitflow.stall.model.StallWaiter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StallWaiterRepository extends JpaRepository<StallWaiter, Long> {
+
+    Optional<StallWaiter> findByStallIdAndUsername(Long stallId, String username);
+
+    List<StallWaiter> findByStallIdAndExpiresAtAfterOrderByQueuedAtAscIdAsc(Long stallId, LocalDateTime now);
+
+    Optional<StallWaiter> findFirstByStallIdAndExpiresAtAfterOrderByQueuedAtAscIdAsc(Long stallId, LocalDateTime now);
+
+    long countByStallIdAndExpiresAtAfter(Long stallId, LocalDateTime now);
+
+    // Live waiters queued before the given one, i.e. its zero-based position
+    @Query("SELECT COUNT(w) FROM StallWaiter w WHERE w.stallId = :stallId AND w.expiresAt > :now " +
+           "AND (w.queuedAt < :queuedAt OR (w.queuedAt = :queuedAt AND w.id < :id))")
+    long countAhead(
+            @Param("stallId") Long stallId,
+            @Param("queuedAt") LocalDateTime queuedAt,
+            @Param("id") Long id,
+            @Param("now") LocalDateTime now
+    );
+
+    // Returns 0 when a concurrent release already took this waiter
+    @Modifying
+    @Query("DELETE FROM StallWaiter w WHERE w.id = :id")
+    int deleteIfPresent(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM StallWaiter w WHERE w.eventId = :eventId AND w.stallId = :stallId AND w.username = :username")
+    int deleteByEventIdAndStallIdAndUsername(
+            @Param("eventId") Long eventId,
+            @Param("stallId") Long stallId,
+            @Param("username") String username
+    );
+
+    @Modifying
+    @Query("DELETE FROM StallWaiter w WHERE w.stallId IN :stallIds")
+    int deleteByStallIdIn(@Param("stallIds") Collection<Long> stallIds);
+
+    @Modifying
+    @Query("DELETE FROM StallWaiter w WHERE w.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class EventNotFoundException extends RuntimeException {
+    public EventNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.dto.ExhibitionEventResponse;
+import com.exhibitflow.stall.dto.UpdateEventRequest;
+import com.exhibitflow.stall.model.ExhibitionEvent;
+import com.exhibitflow.stall.repository.ExhibitionEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Details of exhibition events. Events are registered implicitly with their first stall; this
+ * only maintains what the owner tells us about them, such as when they end.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExhibitionEventService {
+
+    private final ExhibitionEventRepository exhibitionEventRepository;
+
+    @Transactional(readOnly = true)
+    public ExhibitionEventResponse getEvent(Long eventId) {
+        return mapToResponse(findEvent(eventId));
+    }
+
+    /**
+     * Registers an event on its own transaction, so that a concurrent registration failing on
+     * the primary key leaves the caller's transaction usable.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the event already exists
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void registerEvent(Long eventId) {
+        log.info("Registering new exhibition event: {}", eventId);
+        exhibitionEventRepository.saveAndFlush(ExhibitionEvent.builder().id(eventId).build());
+    }
+
+    @Transactional
+    public ExhibitionEventResponse updateEvent(Long eventId, UpdateEventRequest request) {
+        log.debug("Updating exhibition event {}", eventId);
+        ExhibitionEvent event = findEvent(eventId);
+        if (request.getName() != null) {
+            event.setName(request.getName());
+        }
+        if (request.getEndsAt() != null) {
+            event.setEndsAt(request.getEndsAt());
+        }
+        return mapToResponse(exhibitionEventRepository.save(event));
+    }
+
+    private ExhibitionEvent findEvent(Long eventId) {
+        return exhibitionEventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Exhibition event not found with id: " + eventId));
+    }
+
+    static ExhibitionEventResponse mapToResponse(ExhibitionEvent event) {
+        return ExhibitionEventResponse.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .createdAt(event.getCreatedAt())
+                .endsAt(event.getEndsAt())
+                .archivedAt(event.getArchivedAt())
+                .build();
+    }
+}
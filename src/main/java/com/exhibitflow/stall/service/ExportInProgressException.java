@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class ExportInProgressException extends RuntimeException {
+    public ExportInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
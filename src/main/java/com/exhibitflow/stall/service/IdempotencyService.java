@@ -0,0 +1,188 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.IdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays responses of mutating requests that carry an {@code Idempotency-Key} header.
+ *
+ * <p>Keys are scoped by the authenticated principal and the operation, so two users (or two
+ * endpoints) never share a stored response. For each key only the HTTP status, the response body
+ * and a SHA-256 digest of the operation and the JSON-serialized request are kept in memory; entries
+ * expire after {@code stall.idempotency.ttl} and are swept periodically.
+ *
+ * <p>Behaviour for a request with a key:
+ * <ul>
+ *   <li>first use - the action runs and its successful response is stored</li>
+ *   <li>retry with the same payload - the stored response is returned without running the action</li>
+ *   <li>retry while the first request is still running - {@link IdempotencyKeyConflictException}</li>
+ *   <li>reuse with a different payload - {@link InvalidIdempotencyKeyException}</li>
+ * </ul>
+ * Failed actions are not stored, so the client may retry them with the same key.
+ *
+ * <p>The store is local to this instance. A retry that the load balancer routes to another instance
+ * is not recognised there and runs the action again, so deployments behind a round-robin balancer
+ * only get idempotency for retries that stick to the same instance.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Run {@code action} at most once per idempotency key.
+     *
+     * @param idempotencyKey the client supplied key, or null to run the action unconditionally
+     * @param operation      logical operation name, e.g. "createStall" or "holdStall:42"
+     * @param request        request payload used to detect key reuse with a different body (may be null)
+     * @param action         the operation to execute on first use of the key
+     * @return the fresh or the replayed response
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        validateKey(idempotencyKey);
+
+        String storeKey = currentPrincipal() + ":" + operation + ":" + idempotencyKey;
+        byte[] fingerprint = fingerprint(operation, request);
+        long now = System.currentTimeMillis();
+
+        Entry pending = new Entry(fingerprint, now + properties.getTtl().toMillis());
+        Entry existing = entries.putIfAbsent(storeKey, pending);
+        if (existing != null && existing.isExpired(now)) {
+            // Stale entry the sweeper has not collected yet
+            existing = entries.replace(storeKey, existing, pending) ? null : entries.putIfAbsent(storeKey, pending);
+        }
+        if (existing != null) {
+            return replay(existing, fingerprint, idempotencyKey);
+        }
+        if (entries.size() > properties.getMaxEntries()) {
+            entries.remove(storeKey, pending);
+            log.warn("Idempotency store is full ({} entries), executing {} without recording", entries.size(), operation);
+            return action.get();
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            entries.remove(storeKey, pending);
+            throw e;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            pending.complete(response.getStatusCode(), response.getBody());
+        } else {
+            entries.remove(storeKey, pending);
+        }
+        return response;
+    }
+
+    /**
+     * Drop entries whose TTL has passed so the map does not grow with keys that will never be retried.
+     */
+    @Scheduled(fixedDelayString = "${stall.idempotency.sweep-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int evicted = before - entries.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired idempotency keys", evicted);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry, byte[] fingerprint, String idempotencyKey) {
+        if (!MessageDigest.isEqual(entry.fingerprint, fingerprint)) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key " + idempotencyKey + " was already used with a different request");
+        }
+        if (!entry.isCompleted()) {
+            throw new IdempotencyKeyConflictException(
+                    "A request with Idempotency-Key " + idempotencyKey + " is still being processed");
+        }
+        log.debug("Replaying stored response for Idempotency-Key {}", idempotencyKey);
+        return ResponseEntity.status(entry.status)
+                .header(REPLAYED_HEADER, "true")
+                .body((T) entry.body);
+    }
+
+    private byte[] fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return digest.digest();
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request for " + operation, e);
+        }
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + properties.getMaxKeyLength() + " characters");
+        }
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static final class Entry {
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private volatile HttpStatusCode status;
+        private volatile Object body;
+
+        private Entry(byte[] fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private void complete(HttpStatusCode status, Object body) {
+            this.body = body;
+            this.status = status;
+        }
+
+        private boolean isCompleted() {
+            return status != null;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
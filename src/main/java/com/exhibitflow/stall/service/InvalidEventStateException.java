@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class InvalidEventStateException extends RuntimeException {
+    public InvalidEventStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
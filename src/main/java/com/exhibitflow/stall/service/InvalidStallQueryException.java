@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class InvalidStallQueryException extends RuntimeException {
+    public InvalidStallQueryException(String message) {
+        super(message);
+    }
+}
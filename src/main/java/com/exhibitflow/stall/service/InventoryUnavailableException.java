@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class InventoryUnavailableException extends RuntimeException {
+    public InventoryUnavailableException(String message) {
+        super(message);
+    }
+}
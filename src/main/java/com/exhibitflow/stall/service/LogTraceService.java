@@ -0,0 +1,72 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.dto.LogTraceResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runtime switch for full request tracing of a single stall or user.
+ * Traces expire on their own so a forgotten switch does not flood the logs.
+ */
+@Service
+@Slf4j
+public class LogTraceService {
+
+    private final Map<Long, Instant> tracedStalls = new ConcurrentHashMap<>();
+    private final Map<String, Instant> tracedUsers = new ConcurrentHashMap<>();
+
+    public List<LogTraceResponse> enable(Long stallId, String username, Duration duration) {
+        Instant expiresAt = Instant.now().plus(duration);
+        if (stallId != null) {
+            tracedStalls.put(stallId, expiresAt);
+            log.info("Tracing enabled for stall {} until {}", stallId, expiresAt);
+        }
+        if (username != null) {
+            tracedUsers.put(username, expiresAt);
+            log.info("Tracing enabled for user {} until {}", username, expiresAt);
+        }
+        return getActiveTraces();
+    }
+
+    public void disableAll() {
+        tracedStalls.clear();
+        tracedUsers.clear();
+        log.info("Tracing disabled");
+    }
+
+    public List<LogTraceResponse> getActiveTraces() {
+        Instant now = Instant.now();
+        tracedStalls.values().removeIf(now::isAfter);
+        tracedUsers.values().removeIf(now::isAfter);
+
+        List<LogTraceResponse> traces = new ArrayList<>();
+        tracedStalls.forEach((stallId, expiresAt) -> traces.add(LogTraceResponse.builder()
+                .stallId(stallId)
+                .expiresAt(expiresAt)
+                .build()));
+        tracedUsers.forEach((username, expiresAt) -> traces.add(LogTraceResponse.builder()
+                .username(username)
+                .expiresAt(expiresAt)
+                .build()));
+        return traces;
+    }
+
+    public boolean isTraced(String username, Long stallId) {
+        if (tracedStalls.isEmpty() && tracedUsers.isEmpty()) {
+            return false;
+        }
+        return isActive(stallId != null ? tracedStalls.get(stallId) : null)
+                || isActive(username != null ? tracedUsers.get(username) : null);
+    }
+
+    private boolean isActive(Instant expiresAt) {
+        return expiresAt != null && Instant.now().isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,180 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.PricingProperties;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Computes effective stall prices from the {@link PricingProperties} rules.
+ *
+ * <p>Rules are compiled once (enum sets, precompiled location patterns, percentage factors) and
+ * recompiled when the properties are rebound. Which rules can apply to a stall depends only on
+ * its event, size, status and location, so the matching rules are cached per combination of
+ * these; pricing a stall then only checks validity periods and quantities of a few rules.
+ */
+@Service
+@Slf4j
+public class PricingEngine {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PricingProperties properties;
+    private volatile RuleSet ruleSet;
+
+    public PricingEngine(PricingProperties properties) {
+        this.properties = properties;
+        this.ruleSet = compile(properties.getRules());
+    }
+
+    public record PriceQuote(BigDecimal effectivePrice, List<String> appliedRules) {
+    }
+
+    /**
+     * Price one stall as part of a quote for {@code quantity} stalls at time {@code at}.
+     */
+    public PriceQuote quote(StallResponse stall, int quantity, LocalDateTime at) {
+        RuleSet rules = ruleSet();
+        BigDecimal price = stall.getPrice();
+        if (rules.rules().length == 0 || price == null) {
+            return new PriceQuote(price, List.of());
+        }
+        CompiledRule[] candidates = rules.candidates(stall, properties.getCacheSize());
+        List<String> applied = List.of();
+        for (CompiledRule rule : candidates) {
+            if (rule.activeFor(quantity, at)) {
+                price = rule.apply(price);
+                if (applied.isEmpty()) {
+                    applied = new ArrayList<>(candidates.length);
+                }
+                applied.add(rule.name());
+            }
+        }
+        if (applied.isEmpty()) {
+            return new PriceQuote(stall.getPrice(), applied);
+        }
+        return new PriceQuote(price.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP), applied);
+    }
+
+    /**
+     * Set the effective price of a single stall listed now.
+     */
+    public StallResponse applyEffectivePrice(StallResponse stall) {
+        stall.setEffectivePrice(quote(stall, 1, LocalDateTime.now()).effectivePrice());
+        return stall;
+    }
+
+    public int getMaxQuoteStalls() {
+        return properties.getMaxQuoteStalls();
+    }
+
+    private RuleSet ruleSet() {
+        RuleSet current = ruleSet;
+        List<PricingProperties.Rule> source = properties.getRules();
+        if (current.source() != source) {
+            // Rebound properties come with a new list instance
+            synchronized (this) {
+                current = ruleSet;
+                if (current.source() != source) {
+                    try {
+                        current = compile(source);
+                    } catch (RuntimeException e) {
+                        log.error("Invalid pricing rules, keeping the previous rules: {}", e.getMessage());
+                        current = new RuleSet(source, current.rules(), current.matches());
+                    }
+                    ruleSet = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    static RuleSet compile(List<PricingProperties.Rule> source) {
+        List<CompiledRule> compiled = new ArrayList<>(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            PricingProperties.Rule rule = source.get(i);
+            String name = rule.getName() != null ? rule.getName() : "rule-" + (i + 1);
+            if (rule.getValidFrom() != null && rule.getValidUntil() != null
+                    && !rule.getValidFrom().isBefore(rule.getValidUntil())) {
+                throw new IllegalStateException("Pricing rule " + name + " ends before it starts");
+            }
+            compiled.add(new CompiledRule(
+                    name,
+                    Set.copyOf(rule.getEventIds()),
+                    rule.getSizes().isEmpty() ? EnumSet.allOf(StallSize.class) : EnumSet.copyOf(rule.getSizes()),
+                    rule.getStatuses().isEmpty() ? EnumSet.allOf(StallStatus.class) : EnumSet.copyOf(rule.getStatuses()),
+                    rule.getLocationPattern() != null ? Pattern.compile(rule.getLocationPattern()) : null,
+                    rule.getValidFrom(),
+                    rule.getValidUntil(),
+                    rule.getMinQuantity(),
+                    BigDecimal.ONE.add(Objects.requireNonNullElse(rule.getPercent(), BigDecimal.ZERO)
+                            .divide(HUNDRED, MathContext.DECIMAL64)),
+                    Objects.requireNonNullElse(rule.getAmount(), BigDecimal.ZERO)));
+        }
+        log.info("Compiled {} pricing rules", compiled.size());
+        return new RuleSet(source, compiled.toArray(CompiledRule[]::new), new ConcurrentHashMap<>());
+    }
+
+    record RuleSet(List<PricingProperties.Rule> source, CompiledRule[] rules, Map<MatchKey, CompiledRule[]> matches) {
+
+        CompiledRule[] candidates(StallResponse stall, int cacheSize) {
+            MatchKey key = new MatchKey(stall.getEventId(), stall.getSize(), stall.getStatus(), stall.getLocation());
+            CompiledRule[] cached = matches.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            List<CompiledRule> matching = new ArrayList<>();
+            for (CompiledRule rule : rules) {
+                if (rule.matches(key)) {
+                    matching.add(rule);
+                }
+            }
+            CompiledRule[] result = matching.toArray(CompiledRule[]::new);
+            if (matches.size() >= cacheSize) {
+                matches.clear();
+            }
+            matches.put(key, result);
+            return result;
+        }
+    }
+
+    record MatchKey(Long eventId, StallSize size, StallStatus status, String location) {
+    }
+
+    record CompiledRule(String name, Set<Long> eventIds, Set<StallSize> sizes, Set<StallStatus> statuses,
+                        Pattern location, LocalDateTime validFrom, LocalDateTime validUntil, int minQuantity,
+                        BigDecimal factor, BigDecimal amount) {
+
+        boolean matches(MatchKey key) {
+            return (eventIds.isEmpty() || eventIds.contains(key.eventId()))
+                    && sizes.contains(key.size())
+                    && statuses.contains(key.status())
+                    && (location == null || (key.location() != null && location.matcher(key.location()).find()));
+        }
+
+        boolean activeFor(int quantity, LocalDateTime at) {
+            return quantity >= minQuantity
+                    && (validFrom == null || !at.isBefore(validFrom))
+                    && (validUntil == null || at.isBefore(validUntil));
+        }
+
+        BigDecimal apply(BigDecimal price) {
+            return price.multiply(factor, MathContext.DECIMAL64).add(amount);
+        }
+    }
+}
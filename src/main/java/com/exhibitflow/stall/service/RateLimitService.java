@@ -0,0 +1,123 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Token buckets per caller and role, plus a concurrency bulkhead per role for stall list queries.
+ *
+ * <p>Both checks are non-blocking: a request that does not get a token or a bulkhead permit is
+ * rejected immediately rather than waiting for a database connection.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitService {
+
+    public static final String DEFAULT_ROLE = "DEFAULT";
+
+    private final RateLimitProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * Take one token from the caller's bucket.
+     *
+     * @return {@link Duration#ZERO} when allowed, otherwise how long until a token is available
+     */
+    public Duration tryAcquire(String subject, String role) {
+        RateLimitProperties.Limit limit = limitFor(role);
+        TokenBucket bucket = buckets.computeIfAbsent(subject + ":" + role,
+                key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond()));
+        Duration wait = bucket.tryTake(System.nanoTime());
+        if (!wait.isZero()) {
+            rejected(role, "rate");
+        }
+        return wait;
+    }
+
+    /**
+     * Enter the role's list bulkhead; pair every successful call with {@link #exitList(String)}.
+     */
+    public boolean tryEnterList(String role) {
+        boolean entered = bulkhead(role).tryAcquire();
+        if (!entered) {
+            rejected(role, "concurrency");
+        }
+        return entered;
+    }
+
+    public void exitList(String role) {
+        bulkhead(role).release();
+    }
+
+    /**
+     * Drop buckets of callers that have been idle for {@code stall.rate-limit.idle-timeout}.
+     */
+    @Scheduled(fixedDelayString = "${stall.rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        long idleBefore = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.lastUsed() < idleBefore);
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private Semaphore bulkhead(String role) {
+        return bulkheads.computeIfAbsent(role, key -> new Semaphore(limitFor(key).getListConcurrency()));
+    }
+
+    private RateLimitProperties.Limit limitFor(String role) {
+        return properties.getRoles().getOrDefault(role, properties.getDefaults());
+    }
+
+    private void rejected(String role, String reason) {
+        log.debug("Rejected request for role {} - {} limit", role, reason);
+        meterRegistry.ifAvailable(registry ->
+                registry.counter("stall.rate_limit.rejected", "role", role, "reason", reason).increment());
+    }
+
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+        private volatile long lastUsed;
+
+        private TokenBucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000d;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+            this.lastUsed = lastRefill;
+        }
+
+        private synchronized Duration tryTake(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            lastUsed = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1 - tokens) / refillPerNano));
+        }
+
+        private long lastUsed() {
+            return lastUsed;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.ReactiveStallRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link StallService}.
+ * Writes stay on the transactional JPA path.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "stall.reactive", name = "enabled", havingValue = "true")
+public class ReactiveStallService {
+
+    private final ReactiveStallRepository reactiveStallRepository;
+    private final PricingEngine pricingEngine;
+
+    /**
+     * Streams the stalls matching the filters; page 0 streams all of them, like
+     * {@link StallService#getAllStalls}.
+     */
+    public Flux<StallResponse> getStalls(Long eventId, StallStatus status, StallSize size, String location,
+                                         BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        log.debug("Streaming stalls for event {} with filters - status: {}, size: {}, location: {}, price: {}..{}",
+                eventId, status, size, location, minPrice, maxPrice);
+        try {
+            StallService.validatePriceRange(minPrice, maxPrice);
+        } catch (InvalidStallQueryException ex) {
+            return Flux.error(ex);
+        }
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            if (!ReactiveStallRepository.isSortable(order.getProperty())) {
+                return Flux.error(new InvalidStallQueryException("Cannot sort by " + order.getProperty()));
+            }
+        }
+        Integer limit = pageable.getPageNumber() == 0 ? null : pageable.getPageSize();
+        return reactiveStallRepository.findByFilters(eventId, status, size, location, minPrice, maxPrice, sort,
+                        limit == null ? 0 : pageable.getOffset(), limit)
+                .map(StallService::mapToResponse)
+                .map(pricingEngine::applyEffectivePrice);
+    }
+
+    public Mono<StallResponse> getStallById(Long eventId, Long id) {
+        log.debug("Fetching stall by id: {}", id);
+        return reactiveStallRepository.findByEventIdAndId(eventId, id)
+                .switchIfEmpty(Mono.error(() -> new StallNotFoundException("Stall not found with id: " + id)))
+                .map(StallService::mapToResponse);
+    }
+
+    public Mono<StallResponse> getStallByCode(Long eventId, String code) {
+        log.debug("Fetching stall by code: {}", code);
+        return reactiveStallRepository.findByEventIdAndCode(eventId, code)
+                .switchIfEmpty(Mono.error(() -> new StallNotFoundException("Stall not found with code: " + code)))
+                .map(StallService::mapToResponse);
+    }
+}
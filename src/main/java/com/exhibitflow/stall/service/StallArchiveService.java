@@ -0,0 +1,129 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.ArchiveProperties;
+import com.exhibitflow.stall.dto.EventArchiveResponse;
+import com.exhibitflow.stall.event.StallInvalidationPublisher;
+import com.exhibitflow.stall.model.ExhibitionEvent;
+import com.exhibitflow.stall.repository.ExhibitionEventRepository;
+import com.exhibitflow.stall.repository.StallRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Moves the stalls of finished exhibitions from the stall table to stall_archive, so live
+ * queries keep scanning only current events.
+ *
+ * <p>Stalls move in batches of stall.archive.batch-size, each copied and deleted in its own
+ * transaction, so a large event never holds locks or builds WAL for all of its rows at once. An
+ * interrupted run resumes where it stopped; the event is marked archived once no rows remain.
+ * Batches of two instances racing on one event collide on the archive primary key and the loser
+ * rolls back.
+ */
+@Service
+@Slf4j
+public class StallArchiveService {
+
+    private final ArchiveProperties properties;
+    private final StallRepository stallRepository;
+    private final ExhibitionEventRepository exhibitionEventRepository;
+    private final StallWaitlistService stallWaitlistService;
+    private final ObjectProvider<StallInventoryEngine> inventoryEngine;
+    private final ObjectProvider<StallReadModel> readModel;
+    private final ObjectProvider<StallInvalidationPublisher> invalidationPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public StallArchiveService(ArchiveProperties properties, StallRepository stallRepository,
+                               ExhibitionEventRepository exhibitionEventRepository,
+                               StallWaitlistService stallWaitlistService,
+                               ObjectProvider<StallInventoryEngine> inventoryEngine,
+                               ObjectProvider<StallReadModel> readModel,
+                               ObjectProvider<StallInvalidationPublisher> invalidationPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.stallRepository = stallRepository;
+        this.exhibitionEventRepository = exhibitionEventRepository;
+        this.stallWaitlistService = stallWaitlistService;
+        this.inventoryEngine = inventoryEngine;
+        this.readModel = readModel;
+        this.invalidationPublisher = invalidationPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${stall.archive.interval:PT1H}")
+    public void archiveFinishedEvents() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime endedBefore = LocalDateTime.now().minus(properties.getRetention());
+        for (ExhibitionEvent event : exhibitionEventRepository.findByEndsAtBeforeAndArchivedAtIsNullOrderByEndsAt(endedBefore)) {
+            try {
+                archive(event.getId());
+            } catch (RuntimeException e) {
+                log.warn("Archiving stalls of event {} failed, retrying on the next run: {}", event.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Archive an event now, regardless of the retention period. The event must have ended.
+     */
+    public EventArchiveResponse archiveEvent(Long eventId) {
+        ExhibitionEvent event = exhibitionEventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Exhibition event not found with id: " + eventId));
+        if (event.getEndsAt() == null || event.getEndsAt().isAfter(LocalDateTime.now())) {
+            throw new InvalidEventStateException("Event " + eventId + " has not ended yet and cannot be archived");
+        }
+        return archive(eventId);
+    }
+
+    private EventArchiveResponse archive(Long eventId) {
+        long started = System.nanoTime();
+        LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long archived = 0;
+        int batches = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> moveBatch(eventId, archivedAt));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            batches++;
+        }
+        transactionTemplate.executeWithoutResult(status -> exhibitionEventRepository.findById(eventId)
+                .ifPresent(event -> event.setArchivedAt(archivedAt)));
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - started);
+        log.info("Archived {} stalls of event {} in {} batches ({} ms)", archived, eventId, batches, duration.toMillis());
+        return EventArchiveResponse.builder()
+                .eventId(eventId)
+                .archivedStalls(archived)
+                .batches(batches)
+                .archivedAt(archivedAt)
+                .durationMillis(duration.toMillis())
+                .build();
+    }
+
+    private int moveBatch(Long eventId, LocalDateTime archivedAt) {
+        List<Long> ids = stallRepository.findIdsToArchive(eventId, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        stallRepository.copyToArchive(eventId, ids, archivedAt);
+        stallRepository.deleteArchived(eventId, ids);
+        stallWaitlistService.clear(ids);
+        inventoryEngine.ifAvailable(engine -> engine.unregisterAfterCommit(ids));
+        // Archived rows leave no tombstone for the read model's catch-up to see
+        readModel.ifAvailable(model -> model.removeAfterCommit(ids));
+        invalidationPublisher.ifAvailable(publisher -> publisher.publishAfterCommit(eventId, ids));
+        return ids.size();
+    }
+}
@@ -0,0 +1,87 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.ChangeFeedProperties;
+import com.exhibitflow.stall.dto.StallChangesResponse;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.repository.StallRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Incremental change feed for downstream caches: stalls whose (updated_at, id) lies after a
+ * watermark, in bounded batches.
+ *
+ * <p>The watermark is an opaque token of the last returned (updated_at, id). Changes younger than
+ * the settle window are not returned yet, so a transaction that stamped updated_at before the
+ * watermark but committed after it is still picked up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StallChangeFeedService {
+
+    // Start of the feed: before any updated_at
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final StallRepository stallRepository;
+    private final ChangeFeedProperties properties;
+
+    record Watermark(LocalDateTime updatedAt, long id) {
+    }
+
+    @Transactional(readOnly = true)
+    public StallChangesResponse getChanges(Long eventId, String since, Integer limit) {
+        int batchSize = limit != null ? limit : properties.getDefaultBatchSize();
+        if (batchSize < 1 || batchSize > properties.getMaxBatchSize()) {
+            throw new InvalidStallQueryException("limit must be between 1 and " + properties.getMaxBatchSize());
+        }
+        Watermark from = since != null && !since.isBlank() ? decode(since) : new Watermark(ORIGIN, 0);
+        LocalDateTime until = LocalDateTime.now().minus(properties.getSettleWindow());
+        log.debug("Fetching stall changes for event {} after {} up to {}", eventId, from, until);
+
+        Slice<Stall> slice = stallRepository.findChangesAfter(
+                eventId, from.updatedAt(), from.id(), until, PageRequest.of(0, batchSize));
+        List<StallResponse> changes = slice.getContent().stream()
+                .map(StallService::mapToResponse)
+                .toList();
+        String watermark = since;
+        if (!slice.isEmpty()) {
+            Stall last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            watermark = encode(new Watermark(last.getUpdatedAt(), last.getId()));
+        } else if (watermark == null || watermark.isBlank()) {
+            watermark = encode(from);
+        }
+        return StallChangesResponse.builder()
+                .changes(changes)
+                .watermark(watermark)
+                .hasMore(slice.hasNext())
+                .build();
+    }
+
+    static String encode(Watermark watermark) {
+        String raw = watermark.updatedAt() + "|" + watermark.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Watermark decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Watermark(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidStallQueryException("Invalid watermark: " + token);
+        }
+    }
+}
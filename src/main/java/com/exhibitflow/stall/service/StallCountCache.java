@@ -0,0 +1,97 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.CountCacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived totals per stall list filter combination, so paging through a large filtered list
+ * runs the {@code COUNT(*)} once per {@code stall.count-cache.ttl} instead of once per page.
+ *
+ * <p>Cached totals are not invalidated on local writes and may lag by up to the TTL; callers flag
+ * them as approximate. With {@code stall.invalidation.enabled}, the totals of an event are
+ * dropped whenever any instance announces a change to one of its stalls. Entries are grouped by
+ * event, so dropping an event's totals does not scan the totals of other events.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StallCountCache {
+
+    private final CountCacheProperties properties;
+
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, Entry>> entriesByEvent = new ConcurrentHashMap<>();
+
+    /**
+     * Return the cached total for the event's {@code filterKey}, or run {@code counter} and cache
+     * its result.
+     */
+    public CachedCount getOrCount(Long eventId, String filterKey, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Map<String, Entry> entries = entriesByEvent.get(eventId);
+        Entry existing = entries != null ? entries.get(filterKey) : null;
+        if (existing != null && !existing.isExpired(now)) {
+            return new CachedCount(existing.count, true);
+        }
+        long count = counter.getAsLong();
+        if (existing != null || size() < properties.getMaxEntries()) {
+            entriesByEvent.computeIfAbsent(eventId, id -> new ConcurrentHashMap<>())
+                    .put(filterKey, new Entry(count, now + properties.getTtl().toMillis()));
+        }
+        return new CachedCount(count, false);
+    }
+
+    /**
+     * Drop the cached totals of one event.
+     */
+    public void evictEvent(Long eventId) {
+        entriesByEvent.remove(eventId);
+    }
+
+    /**
+     * Drop totals past their TTL, which lookups would recount anyway, so they stop counting
+     * against {@code stall.count-cache.max-entries}.
+     */
+    @Scheduled(fixedDelayString = "${stall.count-cache.sweep-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = size();
+        entriesByEvent.values().forEach(entries -> entries.values().removeIf(entry -> entry.isExpired(now)));
+        // A total cached for an event between these two steps is lost, which only costs a recount
+        entriesByEvent.values().removeIf(Map::isEmpty);
+        int evicted = before - size();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired list totals", evicted);
+        }
+    }
+
+    int size() {
+        return entriesByEvent.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * @param cached true when the total was served from the cache rather than counted just now
+     */
+    public record CachedCount(long count, boolean cached) {
+    }
+
+    private static final class Entry {
+        private final long count;
+        private final long expiresAt;
+
+        private Entry(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
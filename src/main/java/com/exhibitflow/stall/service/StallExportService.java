@@ -0,0 +1,272 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.ExportProperties;
+import com.exhibitflow.stall.config.InventoryProperties;
+import com.exhibitflow.stall.dto.ExportMode;
+import com.exhibitflow.stall.dto.StallExportResponse;
+import com.exhibitflow.stall.model.InventoryLease;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.repository.InventoryLeaseRepository;
+import com.exhibitflow.stall.repository.StallRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes snapshots of the stall catalogue to gzip-compressed CSV files for finance and analytics,
+ * so they no longer page through the whole list API.
+ *
+ * <p>Rows are streamed from a read-only transaction (served by a read replica when routing is
+ * enabled) through a server-side cursor and detached once written, so memory use does not grow
+ * with the table. Files are written under a temporary name and renamed when complete.
+ *
+ * <p>Incremental exports contain stalls whose updated_at lies after the previous export's
+ * watermark, which is kept next to the files. Soft-deleted stalls are exported too, with their
+ * deleted_at set, so that an incremental export reports deletions.
+ *
+ * <p>Scheduled exports fire on every instance, so each run first claims the {@value #LEASE_NAME}
+ * row of the lease table for {@code stall.export.scheduled-lease}; instances that find it held
+ * skip the run. With more than one instance, {@code stall.export.directory} should be shared
+ * storage, as the claiming instance may differ between runs and reads the watermark from there.
+ */
+@Service
+@Slf4j
+public class StallExportService {
+
+    static final String WATERMARK_FILE = "stall-export.watermark";
+    static final String LEASE_NAME = "stall-export";
+    static final String HEADER = "id,event_id,code,size,location,hall,wing,row_label,slot,pos_x,pos_y,price,status,created_at,updated_at,deleted_at";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final ExportProperties properties;
+    private final InventoryProperties inventoryProperties;
+    private final StallRepository stallRepository;
+    private final InventoryLeaseRepository leaseRepository;
+    private final EntityManager entityManager;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public StallExportService(ExportProperties properties, InventoryProperties inventoryProperties,
+                              StallRepository stallRepository, InventoryLeaseRepository leaseRepository,
+                              EntityManager entityManager, ObjectProvider<MeterRegistry> meterRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.inventoryProperties = inventoryProperties;
+        this.stallRepository = stallRepository;
+        this.leaseRepository = leaseRepository;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${stall.export.cron:-}")
+    public void scheduledExport() {
+        if (!claimScheduledRun()) {
+            log.info("Skipping scheduled stall export: another instance holds the export lease");
+            return;
+        }
+        try {
+            export(ExportMode.INCREMENTAL);
+        } catch (ExportInProgressException e) {
+            log.info("Skipping scheduled stall export: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Export the catalogue. Only one export runs at a time per instance.
+     */
+    public StallExportResponse export(ExportMode mode) {
+        if (!running.tryLock()) {
+            throw new ExportInProgressException("A stall export is already running");
+        }
+        try {
+            return doExport(mode);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Stall export failed: " + e.getMessage(), e);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Claims the export lease for this run. It is left to expire rather than released, so an
+     * instance whose cron fires a little later, e.g. due to clock skew, still skips the run.
+     */
+    boolean claimScheduledRun() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getScheduledLease());
+        String owner = inventoryProperties.getOwnerId();
+        try {
+            return Boolean.TRUE.equals(transaction.execute(status -> {
+                if (leaseRepository.acquireOrRenew(LEASE_NAME, owner, expiresAt, now) == 1) {
+                    return true;
+                }
+                if (leaseRepository.existsById(LEASE_NAME)) {
+                    return false;
+                }
+                leaseRepository.saveAndFlush(new InventoryLease(LEASE_NAME, owner, expiresAt));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease row first
+            return false;
+        }
+    }
+
+    private StallExportResponse doExport(ExportMode mode) throws IOException {
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        LocalDateTime until = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime since = mode == ExportMode.INCREMENTAL ? readWatermark(directory) : null;
+        if (since != null) {
+            since = since.minus(properties.getOverlap());
+        }
+        ExportMode effectiveMode = since != null ? ExportMode.INCREMENTAL : ExportMode.FULL;
+
+        String name = "stalls-" + effectiveMode.name().toLowerCase() + "-" + until.format(FILE_TIMESTAMP) + ".csv.gz";
+        Path target = directory.resolve(name);
+        Path part = directory.resolve(name + ".part");
+        long started = System.nanoTime();
+        long rows;
+        try {
+            rows = writeRows(part, since, until);
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+        writeWatermark(directory, until);
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - started);
+        double rowsPerSecond = rows / Math.max(duration.toNanos() / 1_000_000_000.0, 1e-9);
+        meterRegistry.ifAvailable(registry -> {
+            registry.counter("stall.export.rows", "mode", effectiveMode.name()).increment(rows);
+            registry.timer("stall.export.duration", "mode", effectiveMode.name())
+                    .record(duration.toNanos(), TimeUnit.NANOSECONDS);
+        });
+        log.info("Exported {} stalls to {} in {} ms ({} rows/s)", rows, target, duration.toMillis(), Math.round(rowsPerSecond));
+        return StallExportResponse.builder()
+                .mode(effectiveMode)
+                .file(target.toString())
+                .rows(rows)
+                .bytes(Files.size(target))
+                .since(since)
+                .until(until)
+                .durationMillis(duration.toMillis())
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private long writeRows(Path part, LocalDateTime since, LocalDateTime until) throws IOException {
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(part), 64 * 1024), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write('\n');
+            Long rows = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Stall> stalls = since != null
+                        ? stallRepository.streamUpdatedBetween(since, until)
+                        : stallRepository.streamAll()) {
+                    for (Stall stall : (Iterable<Stall>) stalls::iterator) {
+                        writeRow(writer, stall);
+                        entityManager.detach(stall);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeRow(Writer writer, Stall stall) {
+        try {
+            writer.write(String.valueOf(stall.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(stall.getEventId()));
+            writer.write(',');
+            writer.write(csv(stall.getCode()));
+            writer.write(',');
+            writer.write(csv(stall.getSize()));
+            writer.write(',');
+            writer.write(csv(stall.getLocation()));
+            writer.write(',');
+            writer.write(csv(stall.getHall()));
+            writer.write(',');
+            writer.write(csv(stall.getWing()));
+            writer.write(',');
+            writer.write(csv(stall.getRowLabel()));
+            writer.write(',');
+            writer.write(csv(stall.getSlot()));
+            writer.write(',');
+            writer.write(csv(stall.getPosX()));
+            writer.write(',');
+            writer.write(csv(stall.getPosY()));
+            writer.write(',');
+            writer.write(csv(stall.getPrice() != null ? stall.getPrice().toPlainString() : null));
+            writer.write(',');
+            writer.write(csv(stall.getStatus()));
+            writer.write(',');
+            writer.write(csv(stall.getCreatedAt()));
+            writer.write(',');
+            writer.write(csv(stall.getUpdatedAt()));
+            writer.write(',');
+            writer.write(csv(stall.getDeletedAt()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks; null is an empty field
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static LocalDateTime readWatermark(Path directory) throws IOException {
+        Path file = directory.resolve(WATERMARK_FILE);
+        return Files.exists(file) ? LocalDateTime.parse(Files.readString(file).trim()) : null;
+    }
+
+    private static void writeWatermark(Path directory, LocalDateTime until) throws IOException {
+        Path part = directory.resolve(WATERMARK_FILE + ".part");
+        Files.writeString(part, until.toString());
+        Files.move(part, directory.resolve(WATERMARK_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,440 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.InventoryProperties;
+import com.exhibitflow.stall.dto.StallEventDto;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.event.StallEventPublisher;
+import com.exhibitflow.stall.event.StallInvalidationPublisher;
+import com.exhibitflow.stall.model.InventoryLease;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.model.StallWaiter;
+import com.exhibitflow.stall.repository.InventoryLeaseRepository;
+import com.exhibitflow.stall.repository.StallRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Owns stall statuses in memory for flash-sale traffic (stall.inventory.enabled).
+ *
+ * <p>Hold, release and reserve are compare-and-set transitions on a {@link StallStateTable} and
+ * never touch the database on the request path. Changed stalls are written to the stall table in
+ * batches every {@code flush-interval}, and reserved/released events are published once their
+ * batch has committed. Each batch is read back in the same transaction, so the read model and
+ * other instances learn the new versions without a query per stall.
+ *
+ * <p>Only the instance holding the {@link InventoryLease} serves transitions; others answer with
+ * {@link InventoryUnavailableException} until they take over an expired lease. Every flush renews
+ * the lease row only if it is still ours and keeps it locked until commit, so a former owner
+ * cannot overwrite the new one. On acquiring the lease the table is rebuilt from the database.
+ *
+ * <p>Transitions are acknowledged only until {@code ack-margin} before the lease could expire,
+ * counted from the start of the last successful renewal. The rest of the lease is left for
+ * flushing them, so another instance can only take over once everything acknowledged has been
+ * written, unless the owner could not reach the database for the whole margin.
+ *
+ * <p>A release hands the stall to the oldest {@link StallWaitlistService} waiter; the waitlist
+ * lives in the database, so this is the only transition that queries it on the request path.
+ *
+ * <p>Reads keep going to the database and may show a status up to one flush interval old.
+ */
+@Service
+@ConditionalOnProperty(prefix = "stall.inventory", name = "enabled", havingValue = "true")
+@Slf4j
+public class StallInventoryEngine {
+
+    static final String LEASE_NAME = "stall-inventory";
+
+    private final InventoryProperties properties;
+    private final StallRepository stallRepository;
+    private final InventoryLeaseRepository leaseRepository;
+    private final StallEventPublisher eventPublisher;
+    private final StallWaitlistService waitlistService;
+    private final ObjectProvider<StallReadModel> readModel;
+    private final ObjectProvider<StallInvalidationPublisher> invalidationPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final StallStateTable table = new StallStateTable();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedDeque<StallEventDto> pendingEvents = new ConcurrentLinkedDeque<>();
+    private volatile boolean serving;
+    // System.nanoTime() after which no transition is acknowledged until the lease is renewed
+    private volatile long ackDeadline;
+
+    public StallInventoryEngine(InventoryProperties properties, StallRepository stallRepository,
+                                InventoryLeaseRepository leaseRepository, StallEventPublisher eventPublisher,
+                                StallWaitlistService waitlistService,
+                                ObjectProvider<StallReadModel> readModel,
+                                ObjectProvider<StallInvalidationPublisher> invalidationPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.stallRepository = stallRepository;
+        this.leaseRepository = leaseRepository;
+        this.eventPublisher = eventPublisher;
+        this.waitlistService = waitlistService;
+        this.readModel = readModel;
+        this.invalidationPublisher = invalidationPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return whether this instance owns the lease and may acknowledge transitions now
+     */
+    public boolean isServing() {
+        return serving && System.nanoTime() - ackDeadline < 0;
+    }
+
+    public StallResponse holdStall(Long eventId, Long id) {
+        return transition(eventId, id, StallStatus.HELD, EnumSet.of(StallStatus.AVAILABLE),
+                "hold", "Only AVAILABLE stalls can be held.").response();
+    }
+
+    public StallResponse releaseStall(Long eventId, Long id) {
+        Transition released = transition(eventId, id, StallStatus.AVAILABLE,
+                EnumSet.of(StallStatus.HELD, StallStatus.RESERVED),
+                "release", "Only HELD or RESERVED stalls can be released.");
+        // Only the release that made the stall available offers it, so concurrent releases take one waiter
+        return released.changed() ? offerToWaiter(eventId, id, released.response()) : released.response();
+    }
+
+    /**
+     * Strict variant of {@link #holdStall} for queued holds: empty unless this call moved the
+     * stall from AVAILABLE to HELD.
+     */
+    public Optional<StallResponse> holdIfAvailable(Long eventId, Long id) {
+        requireServing();
+        Stall stall = loadedStall(eventId, id);
+        if (!table.compareAndSet(id, StallStatus.AVAILABLE, StallStatus.HELD)) {
+            return Optional.empty();
+        }
+        dirty.add(id);
+        return Optional.of(response(stall, StallStatus.HELD));
+    }
+
+    public StallResponse reserveStall(Long eventId, Long id) {
+        return transition(eventId, id, StallStatus.RESERVED, EnumSet.of(StallStatus.HELD),
+                "reserve", "Only HELD stalls can be reserved.").response();
+    }
+
+    /**
+     * Pick up details of a stall created or updated through the database path once the current
+     * transaction commits, so a rolled-back write never reaches the table.
+     */
+    public void registerAfterCommit(Stall stall) {
+        afterCommit(() -> {
+            if (serving) {
+                table.put(stall);
+            }
+        });
+    }
+
+    /**
+     * Drop stalls that were soft-deleted or archived through the database path once the current
+     * transaction commits. Until then their in-memory status, and any unflushed transition, stays.
+     */
+    public void unregisterAfterCommit(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(() -> removed.forEach(table::remove));
+    }
+
+    /**
+     * @return the in-memory status of the stall, which may be ahead of the database, or the
+     * persisted status when this instance does not serve it
+     */
+    public StallStatus currentStatus(Stall stall) {
+        StallStatus status = serving ? table.status(stall.getId()) : null;
+        return status != null ? status : stall.getStatus();
+    }
+
+    /**
+     * Renew the lease, or try to take it over when it has expired. Rebuilds the table from the
+     * database when this instance becomes the owner and stops serving when it loses the lease.
+     */
+    @Scheduled(fixedDelayString = "${stall.inventory.lease-renew-interval:PT5S}")
+    public synchronized void maintainLease() {
+        long started = System.nanoTime();
+        boolean owned;
+        try {
+            owned = Boolean.TRUE.equals(transactionTemplate.execute(status -> acquireOrRenew()));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease row first
+            owned = false;
+        }
+        if (owned) {
+            extendAckDeadline(started);
+        }
+        if (owned && !serving) {
+            rebuild();
+            serving = true;
+            log.info("Inventory lease acquired by {}, serving stall transitions from memory", properties.getOwnerId());
+        } else if (!owned && serving) {
+            stopServing("lease lost");
+        }
+    }
+
+    /**
+     * Write changed statuses to the stall table, then publish the events of the written batch.
+     */
+    @Scheduled(fixedDelayString = "${stall.inventory.flush-interval:PT0.2S}")
+    public synchronized void flush() {
+        if (!serving || (dirty.isEmpty() && pendingEvents.isEmpty())) {
+            return;
+        }
+        List<Long> ids = drainDirty();
+        List<StallEventDto> events = drainEvents();
+
+        // Grouped per partition and target status, so each batch is one UPDATE
+        Map<Long, Map<StallStatus, List<Long>>> batches = new HashMap<>();
+        for (Long id : ids) {
+            Stall stall = table.stall(id);
+            if (stall == null) {
+                // Deleted or archived since the transition
+                continue;
+            }
+            batches.computeIfAbsent(stall.getEventId(), key -> new HashMap<>())
+                    .computeIfAbsent(table.status(id), key -> new ArrayList<>())
+                    .add(id);
+        }
+
+        long started = System.nanoTime();
+        Optional<List<Stall>> written;
+        try {
+            written = transactionTemplate.execute(status -> writeBatches(batches));
+        } catch (RuntimeException e) {
+            log.warn("Inventory flush of {} stalls failed, retrying: {}", ids.size(), e.getMessage());
+            dirty.addAll(ids);
+            for (int i = events.size() - 1; i >= 0; i--) {
+                pendingEvents.addFirst(events.get(i));
+            }
+            return;
+        }
+        if (written == null || written.isEmpty()) {
+            // Keep the batch for stopServing to report
+            dirty.addAll(ids);
+            stopServing("lease lost during flush");
+            return;
+        }
+        extendAckDeadline(started);
+        log.debug("Flushed {} stall statuses, publishing {} events", ids.size(), events.size());
+        for (Stall stall : written.get()) {
+            readModel.ifAvailable(model -> model.applyAfterCommit(stall));
+            invalidationPublisher.ifAvailable(publisher -> publisher.publishAfterCommit(stall));
+        }
+        for (StallEventDto event : events) {
+            if (event.getHeldFor() != null) {
+                eventPublisher.publishStallOffered(event);
+            } else if (event.getStatus() == StallStatus.RESERVED) {
+                eventPublisher.publishStallReserved(event);
+            } else {
+                eventPublisher.publishStallReleased(event);
+            }
+        }
+    }
+
+    /**
+     * @return the resulting stall, and whether this call changed its status rather than finding
+     * it in the target status already
+     */
+    private Transition transition(Long eventId, Long id, StallStatus target, Set<StallStatus> allowedFrom,
+                                  String action, String rule) {
+        requireServing();
+        Stall stall = loadedStall(eventId, id);
+        while (true) {
+            StallStatus current = table.status(id);
+            // Idempotent: already in the target status
+            if (current == target) {
+                return new Transition(response(stall, current), false);
+            }
+            if (!allowedFrom.contains(current)) {
+                throw new InvalidStallStatusException(
+                        "Cannot " + action + " stall with status: " + current + ". " + rule);
+            }
+            if (table.compareAndSet(id, current, target)) {
+                dirty.add(id);
+                if (target != StallStatus.HELD) {
+                    pendingEvents.add(StallEventDto.builder()
+                            .stallId(id)
+                            .eventId(stall.getEventId())
+                            .code(stall.getCode())
+                            .status(target)
+                            .location(stall.getLocation())
+                            .build());
+                }
+                log.debug("Stall {} {} in memory", id, target);
+                return new Transition(response(stall, target), true);
+            }
+            // Lost a race with another transition on this stall; re-read and decide again
+        }
+    }
+
+    private record Transition(StallResponse response, boolean changed) {
+    }
+
+    private StallResponse offerToWaiter(Long eventId, Long id, StallResponse released) {
+        Optional<StallWaiter> waiter = waitlistService.pollNext(id);
+        if (waiter.isEmpty()) {
+            return released;
+        }
+        if (!table.compareAndSet(id, StallStatus.AVAILABLE, StallStatus.HELD)) {
+            // A plain hold won the stall between the release and the offer
+            waitlistService.restore(waiter.get());
+            return response(table.stall(id), table.status(id));
+        }
+        Stall stall = table.stall(id);
+        dirty.add(id);
+        pendingEvents.add(StallEventDto.builder()
+                .stallId(id)
+                .eventId(eventId)
+                .code(stall.getCode())
+                .status(StallStatus.HELD)
+                .location(stall.getLocation())
+                .heldFor(waiter.get().getUsername())
+                .build());
+        log.debug("Stall {} held in memory for waiter {}", id, waiter.get().getUsername());
+        return response(stall, StallStatus.HELD);
+    }
+
+    /**
+     * Refuses transitions once the lease may have been lost or is too close to expiry to flush
+     * them in time.
+     */
+    private void requireServing() {
+        if (!isServing()) {
+            throw new InventoryUnavailableException("Stall inventory is not owned by this instance, retry shortly");
+        }
+    }
+
+    private void extendAckDeadline(long renewalStarted) {
+        ackDeadline = renewalStarted + properties.getLeaseTtl().minus(properties.getAckMargin()).toNanos();
+    }
+
+    private Stall loadedStall(Long eventId, Long id) {
+        Stall stall = table.stall(id);
+        if (stall == null) {
+            // Created on another instance after the last rebuild
+            stall = stallRepository.findByEventIdAndId(eventId, id)
+                    .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + id));
+            table.put(stall);
+        }
+        if (!stall.getEventId().equals(eventId)) {
+            throw new StallNotFoundException("Stall not found with id: " + id);
+        }
+        return stall;
+    }
+
+    private static StallResponse response(Stall stall, StallStatus status) {
+        StallResponse response = StallService.mapToResponse(stall);
+        response.setStatus(status);
+        return response;
+    }
+
+    private Boolean acquireOrRenew() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getLeaseTtl());
+        if (leaseRepository.acquireOrRenew(LEASE_NAME, properties.getOwnerId(), expiresAt, now) == 1) {
+            return true;
+        }
+        if (leaseRepository.existsById(LEASE_NAME)) {
+            return false;
+        }
+        leaseRepository.saveAndFlush(new InventoryLease(LEASE_NAME, properties.getOwnerId(), expiresAt));
+        return true;
+    }
+
+    /**
+     * @return the written stalls, read back with their new versions while this transaction still
+     * holds their row locks, or empty when the lease is no longer ours
+     */
+    private Optional<List<Stall>> writeBatches(Map<Long, Map<StallStatus, List<Long>>> batches) {
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.renewIfOwned(LEASE_NAME, properties.getOwnerId(), now.plus(properties.getLeaseTtl())) != 1) {
+            return Optional.empty();
+        }
+        List<Stall> written = new ArrayList<>();
+        batches.forEach((eventId, byStatus) -> byStatus.forEach((status, ids) -> {
+            for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + properties.getBatchSize()));
+                stallRepository.updateStatuses(eventId, batch, status, now);
+                written.addAll(stallRepository.findByEventIdAndIdIn(eventId, batch));
+            }
+        }));
+        return Optional.of(written);
+    }
+
+    private void rebuild() {
+        table.clear();
+        dirty.clear();
+        pendingEvents.clear();
+        List<Stall> stalls = stallRepository.findAll();
+        stalls.forEach(table::put);
+        log.info("Inventory rebuilt from the database with {} stalls", stalls.size());
+    }
+
+    private void stopServing(String reason) {
+        serving = false;
+        log.warn("Inventory engine stopped serving: {}", reason);
+        if (!dirty.isEmpty()) {
+            // Only possible after the owner was cut off from the database for the whole ack margin
+            List<String> unflushed = dirty.stream()
+                    .map(id -> id + "=" + table.status(id))
+                    .toList();
+            log.error("Inventory lease taken over before {} acknowledged transitions were written, " +
+                      "reconcile these stalls: {}", unflushed.size(), unflushed);
+        }
+        table.clear();
+        dirty.clear();
+        pendingEvents.clear();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<Long> drainDirty() {
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    private List<StallEventDto> drainEvents() {
+        List<StallEventDto> events = new ArrayList<>();
+        StallEventDto event;
+        while ((event = pendingEvents.poll()) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+}
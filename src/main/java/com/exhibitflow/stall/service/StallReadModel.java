@@ -0,0 +1,474 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.ChangeFeedProperties;
+import com.exhibitflow.stall.config.ReadModelProperties;
+import com.exhibitflow.stall.dto.ReadModelRebuildResponse;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.StallRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Denormalised in-memory view of the live stalls, indexed per list query shape: by status, by
+ * hall, and by size and price band within each event. A list query reads only the stalls of the
+ * narrowest matching index, so its cost follows the result rather than the size of the table.
+ *
+ * <p>Writes of this instance are applied when their transaction commits, from the same points
+ * where {@link StallService} publishes stall events. Writes of other instances and inventory
+ * engine flushes are picked up by tailing the stall table by (updated_at, id), like the change
+ * feed, or at once when {@code stall.invalidation.enabled} announces them. Every row keeps its
+ * updated_at, so an older version never replaces a newer one.
+ *
+ * <p>Until the first build completes, and for sorts it cannot serve, callers fall back to the
+ * database.
+ */
+@Service
+@ConditionalOnProperty(prefix = "stall.read-model", name = "enabled", havingValue = "true")
+@Slf4j
+public class StallReadModel {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Keyed by entity property name, as in the sort parameter of the list endpoints
+    private static final Map<String, Comparator<StallResponse>> SORT_KEYS = Map.ofEntries(
+            Map.entry("id", key(StallResponse::getId)),
+            Map.entry("eventId", key(StallResponse::getEventId)),
+            Map.entry("code", key(StallResponse::getCode)),
+            Map.entry("size", key(stall -> stall.getSize().name())),
+            Map.entry("location", key(StallResponse::getLocation)),
+            Map.entry("hall", key(StallResponse::getHall)),
+            Map.entry("wing", key(StallResponse::getWing)),
+            Map.entry("rowLabel", key(StallResponse::getRow)),
+            Map.entry("slot", key(StallResponse::getSlot)),
+            Map.entry("posX", key(StallResponse::getPosX)),
+            Map.entry("posY", key(StallResponse::getPosY)),
+            Map.entry("price", key(StallResponse::getPrice)),
+            Map.entry("status", key(stall -> stall.getStatus().name())),
+            Map.entry("createdAt", key(StallResponse::getCreatedAt)),
+            Map.entry("updatedAt", key(StallResponse::getUpdatedAt)));
+
+    private static final Comparator<StallResponse> FLOOR_PLAN_ORDER = SORT_KEYS.get("wing")
+            .thenComparing(SORT_KEYS.get("rowLabel"))
+            .thenComparing(SORT_KEYS.get("slot"))
+            .thenComparing(SORT_KEYS.get("code"));
+
+    private final ReadModelProperties properties;
+    private final ChangeFeedProperties changeFeedProperties;
+    private final StallRepository stallRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    // Not read-only, so it runs on the primary: a lagging replica may miss the announced version
+    private final TransactionTemplate primaryTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Views views = new Views();
+    private volatile boolean ready;
+    // Catch-up position; only touched by the synchronized catchUp and rebuild
+    private LocalDateTime since = ORIGIN;
+    private long afterId;
+
+    public StallReadModel(ReadModelProperties properties, ChangeFeedProperties changeFeedProperties,
+                          StallRepository stallRepository, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.changeFeedProperties = changeFeedProperties;
+        this.stallRepository = stallRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Regenerate the model from the stall table and swap it in. Reads keep using the previous
+     * model meanwhile; changes made during the rebuild are replayed by the next catch-up.
+     */
+    public synchronized ReadModelRebuildResponse rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        Views fresh = new Views();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Stall> stalls = stallRepository.streamAll()) {
+                stalls.forEach(stall -> {
+                    fresh.apply(StallService.mapToResponse(stall));
+                    entityManager.detach(stall);
+                });
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            views = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        since = startedAt.minus(changeFeedProperties.getSettleWindow());
+        afterId = 0;
+        ready = true;
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - started);
+        log.info("Rebuilt stall read model with {} stalls in {} ms", fresh.rows.size(), duration.toMillis());
+        return ReadModelRebuildResponse.builder()
+                .stalls(fresh.rows.size())
+                .durationMillis(duration.toMillis())
+                .build();
+    }
+
+    /**
+     * Apply rows changed since the last catch-up, including those written by other instances.
+     */
+    @Scheduled(fixedDelayString = "${stall.read-model.refresh-interval:PT1S}")
+    public synchronized void catchUp() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime until = LocalDateTime.now().minus(changeFeedProperties.getSettleWindow());
+        int applied = 0;
+        Slice<Stall> slice;
+        do {
+            slice = readOnlyTransaction.execute(status -> stallRepository.findAllChangesAfter(
+                    since, afterId, until, PageRequest.of(0, properties.getBatchSize())));
+            for (Stall stall : slice.getContent()) {
+                if (apply(StallService.mapToResponse(stall))) {
+                    applied++;
+                }
+                since = stall.getUpdatedAt();
+                afterId = stall.getId();
+            }
+        } while (slice.hasNext());
+        if (applied > 0) {
+            log.debug("Read model caught up with {} changed stalls", applied);
+        }
+    }
+
+    /**
+     * Apply a stall written by this instance once the current transaction commits.
+     */
+    public void applyAfterCommit(Stall stall) {
+        // Mapped at commit, after the flush has stamped updated_at
+        afterCommit(() -> apply(StallService.mapToResponse(stall)));
+    }
+
+    /**
+     * Drop stalls that left the stall table without a tombstone, i.e. were archived.
+     */
+    public void removeAfterCommit(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removed.forEach(views::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Reload one stall announced as changed by another instance, unless the model already holds
+     * {@code version} or a later one. A null version always reloads.
+     */
+    public void refresh(Long eventId, Long stallId, Long version) {
+        if (!ready) {
+            return;
+        }
+        if (version != null) {
+            lock.readLock().lock();
+            try {
+                StallResponse known = views.rows.get(stallId);
+                if (known != null && known.getVersion() != null && known.getVersion() >= version) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        Optional<StallResponse> current = primaryTransaction.execute(status ->
+                stallRepository.findAnyByEventIdAndId(eventId, stallId).map(StallService::mapToResponse));
+        if (current.isPresent()) {
+            apply(current.get());
+        } else {
+            // Archived since the announcement
+            lock.writeLock().lock();
+            try {
+                views.remove(stallId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @return the stalls matching the list filters in the requested order, or empty when the
+     * model is not built yet or cannot sort by one of the properties
+     */
+    public Optional<List<StallResponse>> find(Long eventId, StallStatus status, StallSize size, String location,
+                                              BigDecimal minPrice, BigDecimal maxPrice, Sort sort) {
+        Comparator<StallResponse> order = comparator(sort);
+        if (!ready || order == null) {
+            return Optional.empty();
+        }
+        String needle = location != null && !location.isBlank() ? location.toLowerCase() : null;
+        List<StallResponse> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : views.candidates(eventId, status, size, minPrice, maxPrice)) {
+                StallResponse stall = views.rows.get(id);
+                if ((status == null || stall.getStatus() == status)
+                        && (size == null || stall.getSize() == size)
+                        && (minPrice == null || stall.getPrice().compareTo(minPrice) >= 0)
+                        && (maxPrice == null || stall.getPrice().compareTo(maxPrice) <= 0)
+                        && (needle == null || stall.getLocation().toLowerCase().contains(needle))) {
+                    result.add(copyOf(stall));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(order);
+        return Optional.of(result);
+    }
+
+    /**
+     * @return the stalls of a hall, or of one wing of it, in floor-plan order; empty when the
+     * model is not built yet
+     */
+    public Optional<List<StallResponse>> findFloorPlan(Long eventId, String hall, String wing) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        List<StallResponse> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : views.byHall.getOrDefault(eventId, Map.of()).getOrDefault(hall, Set.of())) {
+                StallResponse stall = views.rows.get(id);
+                if (wing == null || wing.equals(stall.getWing())) {
+                    result.add(copyOf(stall));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(FLOOR_PLAN_ORDER);
+        return Optional.of(result);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private boolean apply(StallResponse stall) {
+        lock.writeLock().lock();
+        try {
+            return views.apply(stall);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Comparator<StallResponse> comparator(Sort sort) {
+        Comparator<StallResponse> order = null;
+        for (Sort.Order property : StallService.withIdTiebreak(sort)) {
+            Comparator<StallResponse> key = SORT_KEYS.get(property.getProperty());
+            if (key == null || property.isIgnoreCase()) {
+                return null;
+            }
+            // Nulls sort last ascending and first descending, as in PostgreSQL
+            key = property.isAscending() ? key : key.reversed();
+            order = order == null ? key : order.thenComparing(key);
+        }
+        return order;
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<StallResponse> key(Function<StallResponse, T> property) {
+        return Comparator.comparing(property, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    // Callers may set effectivePrice on what they get back
+    private static StallResponse copyOf(StallResponse stall) {
+        return StallResponse.builder()
+                .id(stall.getId())
+                .eventId(stall.getEventId())
+                .code(stall.getCode())
+                .size(stall.getSize())
+                .location(stall.getLocation())
+                .hall(stall.getHall())
+                .wing(stall.getWing())
+                .row(stall.getRow())
+                .slot(stall.getSlot())
+                .posX(stall.getPosX())
+                .posY(stall.getPosY())
+                .price(stall.getPrice())
+                .status(stall.getStatus())
+                .createdAt(stall.getCreatedAt())
+                .updatedAt(stall.getUpdatedAt())
+                .version(stall.getVersion())
+                .build();
+    }
+
+    /**
+     * Live rows and their indexes. Guarded by the model's lock; a rebuild fills a fresh instance.
+     */
+    private static final class Views {
+
+        private final Map<Long, StallResponse> rows = new HashMap<>();
+        // updated_at of every stall seen, deleted ones included, to ignore stale versions
+        private final Map<Long, LocalDateTime> versions = new HashMap<>();
+        private final Map<Long, Set<Long>> byEvent = new HashMap<>();
+        private final Map<Long, Map<StallStatus, Set<Long>>> byStatus = new HashMap<>();
+        private final Map<Long, Map<String, Set<Long>>> byHall = new HashMap<>();
+        private final Map<Long, NavigableMap<BigDecimal, Set<Long>>> byPrice = new HashMap<>();
+        private final Map<Long, Map<StallSize, NavigableMap<BigDecimal, Set<Long>>>> bySizePrice = new HashMap<>();
+
+        boolean apply(StallResponse stall) {
+            LocalDateTime known = versions.get(stall.getId());
+            if (known != null && stall.getUpdatedAt().isBefore(known)) {
+                return false;
+            }
+            versions.put(stall.getId(), stall.getUpdatedAt());
+            StallResponse previous = rows.remove(stall.getId());
+            if (previous != null) {
+                unindex(previous);
+            }
+            if (stall.getDeletedAt() == null) {
+                rows.put(stall.getId(), stall);
+                index(stall);
+            }
+            return true;
+        }
+
+        void remove(Long id) {
+            versions.remove(id);
+            StallResponse previous = rows.remove(id);
+            if (previous != null) {
+                unindex(previous);
+            }
+        }
+
+        /**
+         * Ids of the narrowest index covering the filters; the caller still checks every filter.
+         */
+        Collection<Long> candidates(Long eventId, StallStatus status, StallSize size,
+                                    BigDecimal minPrice, BigDecimal maxPrice) {
+            if (size != null || minPrice != null || maxPrice != null) {
+                NavigableMap<BigDecimal, Set<Long>> prices = size != null
+                        ? bySizePrice.getOrDefault(eventId, Map.of()).get(size)
+                        : byPrice.get(eventId);
+                if (prices == null) {
+                    return List.of();
+                }
+                if (minPrice != null && maxPrice != null) {
+                    prices = prices.subMap(minPrice, true, maxPrice, true);
+                } else if (minPrice != null) {
+                    prices = prices.tailMap(minPrice, true);
+                } else if (maxPrice != null) {
+                    prices = prices.headMap(maxPrice, true);
+                }
+                List<Long> ids = new ArrayList<>();
+                prices.values().forEach(ids::addAll);
+                return ids;
+            }
+            if (status != null) {
+                return byStatus.getOrDefault(eventId, Map.of()).getOrDefault(status, Set.of());
+            }
+            return byEvent.getOrDefault(eventId, Set.of());
+        }
+
+        private void index(StallResponse stall) {
+            Long id = stall.getId();
+            Long eventId = stall.getEventId();
+            byEvent.computeIfAbsent(eventId, key -> new HashSet<>()).add(id);
+            add(byStatus.computeIfAbsent(eventId, key -> new HashMap<>()), stall.getStatus(), id);
+            if (stall.getHall() != null) {
+                add(byHall.computeIfAbsent(eventId, key -> new HashMap<>()), stall.getHall(), id);
+            }
+            add(byPrice.computeIfAbsent(eventId, key -> new TreeMap<>()), stall.getPrice(), id);
+            add(bySizePrice.computeIfAbsent(eventId, key -> new HashMap<>())
+                    .computeIfAbsent(stall.getSize(), key -> new TreeMap<>()), stall.getPrice(), id);
+        }
+
+        private void unindex(StallResponse stall) {
+            Long id = stall.getId();
+            Long eventId = stall.getEventId();
+            Set<Long> event = byEvent.get(eventId);
+            event.remove(id);
+            if (event.isEmpty()) {
+                byEvent.remove(eventId);
+                byStatus.remove(eventId);
+                byHall.remove(eventId);
+                byPrice.remove(eventId);
+                bySizePrice.remove(eventId);
+                return;
+            }
+            remove(byStatus.get(eventId), stall.getStatus(), id);
+            if (stall.getHall() != null) {
+                remove(byHall.get(eventId), stall.getHall(), id);
+            }
+            remove(byPrice.get(eventId), stall.getPrice(), id);
+            remove(bySizePrice.get(eventId).get(stall.getSize()), stall.getPrice(), id);
+        }
+
+        private static <K> void add(Map<K, Set<Long>> index, K key, Long id) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+
+        private static <K> void remove(Map<K, Set<Long>> index, K key, Long id) {
+            Set<Long> ids = index.get(key);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
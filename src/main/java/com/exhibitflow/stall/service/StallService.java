@@ -2,90 +2,340 @@ package com.exhibitflow.stall.service;
 
 import com.exhibitflow.stall.dto.*;
 import com.exhibitflow.stall.event.StallEventPublisher;
+import com.exhibitflow.stall.event.StallInvalidationPublisher;
 import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallLocation;
 import com.exhibitflow.stall.model.StallSize;
 import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.model.StallWaiter;
+import com.exhibitflow.stall.repository.ExhibitionEventRepository;
 import com.exhibitflow.stall.repository.StallRepository;
+import com.exhibitflow.stall.repository.StallSearchHit;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Observed(name = "stall.service")
 public class StallService {
 
+    public static final int MAX_NEAREST_LIMIT = 50;
+    public static final int MAX_BATCH_KEYS = 100;
+    public static final int MAX_SEARCH_LIMIT = 50;
+    static final int MAX_SEARCH_TERMS = 10;
+
     private final StallRepository stallRepository;
+    private final ExhibitionEventRepository exhibitionEventRepository;
+    private final ExhibitionEventService exhibitionEventService;
     private final StallEventPublisher eventPublisher;
+    private final StallCountCache stallCountCache;
+    private final StallWaitlistService stallWaitlistService;
+    private final PricingEngine pricingEngine;
+    private final ObjectProvider<StallInventoryEngine> inventoryEngine;
+    private final ObjectProvider<StallReadModel> readModel;
+    private final ObjectProvider<StallInvalidationPublisher> invalidationPublisher;
 
     @Transactional(readOnly = true)
-    public Page<StallResponse> getStalls(StallStatus status, StallSize size, String location, Pageable pageable) {
-        log.info("Fetching stalls with filters - status: {}, size: {}, location: {}", status, size, location);
-        return stallRepository.findByFilters(status, size, location, pageable)
-                .map(this::mapToResponse);
+    public Page<StallResponse> getStalls(Long eventId, StallStatus status, StallSize size, String location,
+                                         BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        log.debug("Fetching stalls for event {} with filters - status: {}, size: {}, location: {}, price: {}..{}",
+                eventId, status, size, location, minPrice, maxPrice);
+        validatePriceRange(minPrice, maxPrice);
+        Pageable stablePageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                withIdTiebreak(pageable.getSort()));
+        Optional<List<StallResponse>> fromModel =
+                findInReadModel(eventId, status, size, location, minPrice, maxPrice, stablePageable.getSort());
+        if (fromModel.isPresent()) {
+            List<StallResponse> matching = fromModel.get();
+            return new PageImpl<>(
+                    page(matching, stablePageable), stablePageable, matching.size());
+        }
+        return stallRepository.findByFilters(eventId, status, size, location, minPrice, maxPrice, stablePageable)
+                .map(StallService::mapToResponse)
+                .map(pricingEngine::applyEffectivePrice);
+    }
+
+    /**
+     * Paged stall list without an exact {@code COUNT(*)} per page.
+     *
+     * @param totals {@link TotalsMode#NONE} omits totals; {@link TotalsMode#APPROXIMATE} reuses a
+     *               recent count for the same filters and flags it when it came from the cache
+     */
+    @Transactional(readOnly = true)
+    public StallSliceResponse getStallSlice(Long eventId, StallStatus status, StallSize size, String location,
+                                            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable,
+                                            TotalsMode totals) {
+        log.debug("Fetching stall slice for event {} with filters - status: {}, size: {}, location: {}, price: {}..{}, totals: {}",
+                eventId, status, size, location, minPrice, maxPrice, totals);
+        validatePriceRange(minPrice, maxPrice);
+        Pageable stablePageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                withIdTiebreak(pageable.getSort()));
+        Optional<List<StallResponse>> fromModel =
+                findInReadModel(eventId, status, size, location, minPrice, maxPrice, stablePageable.getSort());
+        if (fromModel.isPresent()) {
+            // The read model knows the exact total at no extra cost
+            List<StallResponse> matching = fromModel.get();
+            List<StallResponse> content = page(matching, stablePageable);
+            StallSliceResponse.StallSliceResponseBuilder response = StallSliceResponse.builder()
+                    .content(content)
+                    .page(pageable.getPageNumber())
+                    .size(pageable.getPageSize())
+                    .numberOfElements(content.size())
+                    .hasNext(stablePageable.getOffset() + content.size() < matching.size());
+            if (totals == TotalsMode.NONE) {
+                return response.build();
+            }
+            return response
+                    .totalElements((long) matching.size())
+                    .totalPages((matching.size() + pageable.getPageSize() - 1) / pageable.getPageSize())
+                    .totalsApproximate(false)
+                    .build();
+        }
+        Slice<Stall> slice = stallRepository.findSliceByFilters(
+                eventId, status, size, location, minPrice, maxPrice, stablePageable);
+
+        StallSliceResponse.StallSliceResponseBuilder response = StallSliceResponse.builder()
+                .content(slice.getContent().stream()
+                        .map(StallService::mapToResponse)
+                        .map(pricingEngine::applyEffectivePrice)
+                        .toList())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .numberOfElements(slice.getNumberOfElements())
+                .hasNext(slice.hasNext());
+        if (totals == TotalsMode.NONE) {
+            return response.build();
+        }
+        String filterKey = status + "|" + size + "|" + location + "|" + minPrice + "|" + maxPrice;
+        StallCountCache.CachedCount count = stallCountCache.getOrCount(eventId, filterKey,
+                () -> stallRepository.countByFilters(eventId, status, size, location, minPrice, maxPrice));
+        return response
+                .totalElements(count.count())
+                .totalPages((int) ((count.count() + pageable.getPageSize() - 1) / pageable.getPageSize()))
+                .totalsApproximate(count.cached())
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public Page<StallResponse> getAllStalls(StallStatus status, StallSize size, String location, org.springframework.data.domain.Sort sort) {
-        log.info("Fetching ALL stalls with filters - status: {}, size: {}, location: {}", status, size, location);
-        java.util.List<Stall> allStalls = stallRepository.findAllByFilters(status, size, location, sort);
-        java.util.List<StallResponse> responses = allStalls.stream()
-                .map(this::mapToResponse)
-                .collect(java.util.stream.Collectors.toList());
-        return new org.springframework.data.domain.PageImpl<>(responses, org.springframework.data.domain.Pageable.unpaged(), responses.size());
+    public Page<StallResponse> getAllStalls(Long eventId, StallStatus status, StallSize size, String location,
+                                            BigDecimal minPrice, BigDecimal maxPrice, Sort sort) {
+        log.debug("Fetching ALL stalls for event {} with filters - status: {}, size: {}, location: {}, price: {}..{}",
+                eventId, status, size, location, minPrice, maxPrice);
+        validatePriceRange(minPrice, maxPrice);
+        Optional<List<StallResponse>> fromModel =
+                findInReadModel(eventId, status, size, location, minPrice, maxPrice, withIdTiebreak(sort));
+        if (fromModel.isPresent()) {
+            List<StallResponse> matching = fromModel.get();
+            matching.forEach(pricingEngine::applyEffectivePrice);
+            return new PageImpl<>(matching, Pageable.unpaged(), matching.size());
+        }
+        List<Stall> allStalls = stallRepository.findAllByFilters(
+                eventId, status, size, location, minPrice, maxPrice, withIdTiebreak(sort));
+        List<StallResponse> responses = allStalls.stream()
+                .map(StallService::mapToResponse)
+                .map(pricingEngine::applyEffectivePrice)
+                .collect(Collectors.toList());
+        return new PageImpl<>(responses, Pageable.unpaged(), responses.size());
     }
 
+    /**
+     * Price several stalls together, so quantity-based rules see the number of stalls quoted.
+     * Unknown ids are reported instead of failing the quote.
+     */
     @Transactional(readOnly = true)
-    public StallResponse getStallById(Long id) {
-        log.info("Fetching stall by id: {}", id);
-        Stall stall = stallRepository.findById(id)
-                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + id));
+    public StallQuoteResponse quoteStalls(Long eventId, StallQuoteRequest request) {
+        Set<Long> ids = new LinkedHashSet<>(request.getStallIds());
+        ids.remove(null);
+        int maxStalls = pricingEngine.getMaxQuoteStalls();
+        if (ids.size() > maxStalls) {
+            throw new InvalidStallQueryException("At most " + maxStalls + " stalls can be quoted at once");
+        }
+        LocalDateTime at = request.getAt() != null ? request.getAt() : LocalDateTime.now();
+        log.debug("Quoting {} stalls for event {} at {}", ids.size(), eventId, at);
+
+        Map<Long, Stall> found = new HashMap<>();
+        for (Stall stall : stallRepository.findByEventIdAndIdIn(eventId, ids)) {
+            found.put(stall.getId(), stall);
+        }
+        List<StallQuoteLine> lines = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long id : ids) {
+            Stall stall = found.get(id);
+            if (stall == null) {
+                missingIds.add(id);
+                continue;
+            }
+            StallResponse response = mapToResponse(stall);
+            PricingEngine.PriceQuote quote = pricingEngine.quote(response, found.size(), at);
+            lines.add(StallQuoteLine.builder()
+                    .stallId(stall.getId())
+                    .code(stall.getCode())
+                    .size(stall.getSize())
+                    .location(stall.getLocation())
+                    .status(stall.getStatus())
+                    .basePrice(stall.getPrice())
+                    .effectivePrice(quote.effectivePrice())
+                    .appliedRules(quote.appliedRules())
+                    .build());
+            total = total.add(quote.effectivePrice());
+        }
+        return StallQuoteResponse.builder()
+                .eventId(eventId)
+                .quotedAt(at)
+                .quantity(found.size())
+                .lines(lines)
+                .missingIds(missingIds)
+                .total(total)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public StallResponse getStallById(Long eventId, Long id) {
+        log.debug("Fetching stall by id: {}", id);
+        Stall stall = findStall(eventId, id);
         return mapToResponse(stall);
     }
 
     @Transactional(readOnly = true)
-    public StallResponse getStallByCode(String code) {
-        log.info("Fetching stall by code: {}", code);
-        Stall stall = stallRepository.findByCode(code)
+    public StallResponse getStallByCode(Long eventId, String code) {
+        log.debug("Fetching stall by code: {}", code);
+        Stall stall = stallRepository.findByEventIdAndCode(eventId, code)
                 .orElseThrow(() -> new StallNotFoundException("Stall not found with code: " + code));
         return mapToResponse(stall);
     }
 
+    /**
+     * Resolve several stalls by id and/or code with a single query. Unknown keys are reported
+     * in the response instead of failing the whole lookup.
+     *
+     * @param ids   stall ids; together with codes at most {@value #MAX_BATCH_KEYS} distinct keys
+     * @param codes stall codes
+     */
+    @Transactional(readOnly = true)
+    public StallBatchResponse getStallsBatch(Long eventId, List<Long> ids, List<String> codes) {
+        Set<Long> idKeys = ids != null ? new LinkedHashSet<>(ids) : new LinkedHashSet<>();
+        Set<String> codeKeys = codes != null ? new LinkedHashSet<>(codes) : new LinkedHashSet<>();
+        idKeys.remove(null);
+        codeKeys.removeIf(code -> code == null || code.isBlank());
+        log.debug("Batch lookup for event {} - {} ids, {} codes", eventId, idKeys.size(), codeKeys.size());
+        if (idKeys.isEmpty() && codeKeys.isEmpty()) {
+            throw new InvalidStallQueryException("At least one id or code is required");
+        }
+        if (idKeys.size() + codeKeys.size() > MAX_BATCH_KEYS) {
+            throw new InvalidStallQueryException("At most " + MAX_BATCH_KEYS + " ids and codes can be looked up at once");
+        }
+
+        List<Stall> stalls;
+        if (codeKeys.isEmpty()) {
+            stalls = stallRepository.findByEventIdAndIdIn(eventId, idKeys);
+        } else if (idKeys.isEmpty()) {
+            stalls = stallRepository.findByEventIdAndCodeIn(eventId, codeKeys);
+        } else {
+            stalls = stallRepository.findByEventIdAndIdInOrCodeIn(eventId, idKeys, codeKeys);
+        }
+        Map<Long, StallResponse> foundById = new HashMap<>();
+        Map<String, StallResponse> foundByCode = new HashMap<>();
+        for (Stall stall : stalls) {
+            StallResponse response = mapToResponse(stall);
+            foundById.put(stall.getId(), response);
+            foundByCode.put(stall.getCode(), response);
+        }
+
+        // Keyed in request order
+        Map<Long, StallResponse> byId = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : idKeys) {
+            StallResponse response = foundById.get(id);
+            if (response != null) {
+                byId.put(id, response);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        Map<String, StallResponse> byCode = new LinkedHashMap<>();
+        List<String> missingCodes = new ArrayList<>();
+        for (String code : codeKeys) {
+            StallResponse response = foundByCode.get(code);
+            if (response != null) {
+                byCode.put(code, response);
+            } else {
+                missingCodes.add(code);
+            }
+        }
+        return StallBatchResponse.builder()
+                .byId(byId)
+                .byCode(byCode)
+                .missingIds(missingIds)
+                .missingCodes(missingCodes)
+                .build();
+    }
+
     @Transactional
-    public StallResponse createStall(CreateStallRequest request) {
-        log.info("Creating new stall with code: {}", request.getCode());
+    public StallResponse createStall(Long eventId, CreateStallRequest request) {
+        log.debug("Creating new stall with code: {} for event: {}", request.getCode(), eventId);
         
-        // Check if code already exists
-        if (stallRepository.findByCode(request.getCode()).isPresent()) {
+        // Check if code already exists within the event
+        if (stallRepository.findByEventIdAndCode(eventId, request.getCode()).isPresent()) {
             throw new DuplicateStallCodeException("Stall with code " + request.getCode() + " already exists");
         }
 
+        registerEventIfAbsent(eventId);
+
         Stall stall = Stall.builder()
+                .eventId(eventId)
                 .code(request.getCode())
                 .size(request.getSize())
                 .location(request.getLocation())
                 .price(request.getPrice())
                 .status(StallStatus.AVAILABLE)
+                .posX(request.getPosX())
+                .posY(request.getPosY())
                 .build();
+        stall.applyLocation(resolveLocation(StallLocation.parse(request.getLocation()),
+                request.getHall(), request.getWing(), request.getRow(), request.getSlot()));
 
-        Stall savedStall = stallRepository.save(stall);
-        log.info("Created stall with id: {}", savedStall.getId());
+        Stall savedStall = recordChange(stallRepository.save(stall));
+        inventoryEngine.ifAvailable(engine -> engine.registerAfterCommit(savedStall));
+        log.debug("Created stall with id: {}", savedStall.getId());
         return mapToResponse(savedStall);
     }
 
     @Transactional
-    public StallResponse updateStall(Long id, UpdateStallRequest request) {
-        log.info("Updating stall with id: {}", id);
+    public StallResponse updateStall(Long eventId, Long id, UpdateStallRequest request) {
+        log.debug("Updating stall with id: {}", id);
         
-        Stall stall = stallRepository.findById(id)
-                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + id));
+        Stall stall = findStall(eventId, id);
 
         // Check if code is being updated and if it already exists
         if (request.getCode() != null && !request.getCode().equals(stall.getCode())) {
-            if (stallRepository.findByCode(request.getCode()).isPresent()) {
+            if (stallRepository.findByEventIdAndCode(eventId, request.getCode()).isPresent()) {
                 throw new DuplicateStallCodeException("Stall with code " + request.getCode() + " already exists");
             }
             stall.setCode(request.getCode());
@@ -94,28 +344,65 @@ public class StallService {
         if (request.getSize() != null) {
             stall.setSize(request.getSize());
         }
+        // A new free-text location re-derives hall/wing/row; explicitly supplied parts always win
+        StallLocation current = new StallLocation(stall.getHall(), stall.getWing(), stall.getRowLabel(), stall.getSlot());
         if (request.getLocation() != null) {
+            StallLocation parsed = StallLocation.parse(request.getLocation());
+            current = new StallLocation(parsed.getHall(), parsed.getWing(), parsed.getRow(), stall.getSlot());
             stall.setLocation(request.getLocation());
         }
+        stall.applyLocation(resolveLocation(current,
+                request.getHall(), request.getWing(), request.getRow(), request.getSlot()));
         if (request.getPrice() != null) {
             stall.setPrice(request.getPrice());
         }
+        if (request.getPosX() != null) {
+            stall.setPosX(request.getPosX());
+        }
+        if (request.getPosY() != null) {
+            stall.setPosY(request.getPosY());
+        }
 
-        Stall updatedStall = stallRepository.save(stall);
-        log.info("Updated stall with id: {}", updatedStall.getId());
+        Stall updatedStall = recordChange(stallRepository.save(stall));
+        inventoryEngine.ifAvailable(engine -> engine.registerAfterCommit(updatedStall));
+        log.debug("Updated stall with id: {}", updatedStall.getId());
         return mapToResponse(updatedStall);
     }
 
+    /**
+     * Soft-delete a stall: the row stays as a tombstone for the change feed until its event is
+     * archived, but is gone from every other query. Reserved stalls must be released first.
+     */
     @Transactional
-    public StallResponse holdStall(Long id) {
-        log.info("Holding stall with id: {}", id);
+    public void deleteStall(Long eventId, Long id) {
+        log.debug("Deleting stall with id: {}", id);
+
+        Stall stall = findStall(eventId, id);
+        StallInventoryEngine engine = inventoryEngine.getIfAvailable();
+        StallStatus status = engine != null ? engine.currentStatus(stall) : stall.getStatus();
+        if (status == StallStatus.RESERVED) {
+            throw new InvalidStallStatusException(
+                    "Cannot delete stall with status: RESERVED. Release the stall first.");
+        }
+
+        stall.setDeletedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        recordChange(stallRepository.save(stall));
+        stallWaitlistService.clear(List.of(id));
+        if (engine != null) {
+            engine.unregisterAfterCommit(List.of(id));
+        }
+        log.debug("Deleted stall with id: {}", id);
+    }
+
+    @Transactional
+    public StallResponse holdStall(Long eventId, Long id) {
+        log.debug("Holding stall with id: {}", id);
         
-        Stall stall = stallRepository.findById(id)
-                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + id));
+        Stall stall = findStall(eventId, id);
 
         // Idempotent: if already held, return current state
         if (stall.getStatus() == StallStatus.HELD) {
-            log.info("Stall {} is already held", id);
+            log.debug("Stall {} is already held", id);
             return mapToResponse(stall);
         }
 
@@ -125,21 +412,20 @@ public class StallService {
         }
 
         stall.setStatus(StallStatus.HELD);
-        Stall updatedStall = stallRepository.save(stall);
-        log.info("Stall {} held successfully", id);
+        Stall updatedStall = recordChange(stallRepository.save(stall));
+        log.debug("Stall {} held successfully", id);
         return mapToResponse(updatedStall);
     }
 
     @Transactional
-    public StallResponse releaseStall(Long id) {
-        log.info("Releasing stall with id: {}", id);
+    public StallResponse releaseStall(Long eventId, Long id) {
+        log.debug("Releasing stall with id: {}", id);
         
-        Stall stall = stallRepository.findById(id)
-                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + id));
+        Stall stall = findStall(eventId, id);
 
         // Idempotent: if already available, return current state
         if (stall.getStatus() == StallStatus.AVAILABLE) {
-            log.info("Stall {} is already available", id);
+            log.debug("Stall {} is already available", id);
             return mapToResponse(stall);
         }
 
@@ -149,31 +435,64 @@ public class StallService {
         }
 
         stall.setStatus(StallStatus.AVAILABLE);
-        Stall updatedStall = stallRepository.save(stall);
+        Stall updatedStall = recordChange(stallRepository.save(stall));
+
+        // Hand the stall straight to the oldest waiter, in the same transaction as the release.
+        // The stall is never committed as AVAILABLE then, so only the offer is published.
+        Optional<StallWaiter> waiter = stallWaitlistService.pollNext(id);
+        if (waiter.isPresent()) {
+            updatedStall.setStatus(StallStatus.HELD);
+            updatedStall = stallRepository.save(updatedStall);
+            // Bump the version again before mapping; recordChange already maps the final state at commit
+            stallRepository.flush();
+            eventPublisher.publishStallOffered(StallEventDto.builder()
+                    .stallId(updatedStall.getId())
+                    .eventId(updatedStall.getEventId())
+                    .code(updatedStall.getCode())
+                    .status(updatedStall.getStatus())
+                    .location(updatedStall.getLocation())
+                    .heldFor(waiter.get().getUsername())
+                    .build());
+            log.debug("Stall {} released and held for waiter {}", id, waiter.get().getUsername());
+            return mapToResponse(updatedStall);
+        }
 
         // Publish release event
         StallEventDto event = StallEventDto.builder()
                 .stallId(updatedStall.getId())
+                .eventId(updatedStall.getEventId())
                 .code(updatedStall.getCode())
                 .status(updatedStall.getStatus())
                 .location(updatedStall.getLocation())
                 .build();
         eventPublisher.publishStallReleased(event);
-
-        log.info("Stall {} released successfully", id);
+        log.debug("Stall {} released successfully", id);
         return mapToResponse(updatedStall);
     }
 
+    /**
+     * Strict variant of {@link #holdStall} for queued holds: empty unless this call moved the
+     * stall from AVAILABLE to HELD.
+     */
     @Transactional
-    public StallResponse reserveStall(Long id) {
-        log.info("Reserving stall with id: {}", id);
+    public Optional<StallResponse> holdIfAvailable(Long eventId, Long id) {
+        Stall stall = findStall(eventId, id);
+        if (stall.getStatus() != StallStatus.AVAILABLE) {
+            return Optional.empty();
+        }
+        stall.setStatus(StallStatus.HELD);
+        return Optional.of(mapToResponse(recordChange(stallRepository.save(stall))));
+    }
+
+    @Transactional
+    public StallResponse reserveStall(Long eventId, Long id) {
+        log.debug("Reserving stall with id: {}", id);
         
-        Stall stall = stallRepository.findById(id)
-                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + id));
+        Stall stall = findStall(eventId, id);
 
         // Idempotent: if already reserved, return current state
         if (stall.getStatus() == StallStatus.RESERVED) {
-            log.info("Stall {} is already reserved", id);
+            log.debug("Stall {} is already reserved", id);
             return mapToResponse(stall);
         }
 
@@ -183,31 +502,232 @@ public class StallService {
         }
 
         stall.setStatus(StallStatus.RESERVED);
-        Stall updatedStall = stallRepository.save(stall);
+        Stall updatedStall = recordChange(stallRepository.save(stall));
 
         // Publish reserve event
         StallEventDto event = StallEventDto.builder()
                 .stallId(updatedStall.getId())
+                .eventId(updatedStall.getEventId())
                 .code(updatedStall.getCode())
                 .status(updatedStall.getStatus())
                 .location(updatedStall.getLocation())
                 .build();
         eventPublisher.publishStallReserved(event);
 
-        log.info("Stall {} reserved successfully", id);
+        log.debug("Stall {} reserved successfully", id);
         return mapToResponse(updatedStall);
     }
 
-    private StallResponse mapToResponse(Stall stall) {
+    @Transactional(readOnly = true)
+    public List<StallResponse> getFloorPlan(Long eventId, String hall, String wing) {
+        log.debug("Fetching floor plan for event {} - hall: {}, wing: {}", eventId, hall, wing);
+        StallReadModel model = readModel.getIfAvailable();
+        if (model != null) {
+            Optional<List<StallResponse>> floorPlan =
+                    model.findFloorPlan(eventId, hall, wing == null || wing.isBlank() ? null : wing);
+            if (floorPlan.isPresent()) {
+                return floorPlan.get();
+            }
+        }
+        List<Stall> stalls = wing == null || wing.isBlank()
+                ? stallRepository.findFloorPlan(eventId, hall)
+                : stallRepository.findFloorPlanByWing(eventId, hall, wing);
+        return stalls.stream()
+                .map(StallService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<HallSummaryResponse> getHallSummaries(Long eventId) {
+        log.debug("Fetching hall summaries for event {}", eventId);
+        return stallRepository.summarizeHalls(eventId);
+    }
+
+    /**
+     * Find the closest AVAILABLE stalls to a floor-plan point or to another stall.
+     *
+     * @param nearStallId when set, distances are measured from this stall instead of (x, y)
+     * @param limit       number of stalls to return, at most {@value #MAX_NEAREST_LIMIT}
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyStallResponse> findNearestAvailable(Long eventId, Double x, Double y, Long nearStallId,
+                                                                    StallSize size, BigDecimal maxPrice, int limit) {
+        log.debug("Finding {} nearest available stalls for event {} - point: ({}, {}), near stall: {}, size: {}, maxPrice: {}",
+                limit, eventId, x, y, nearStallId, size, maxPrice);
+        if (limit < 1 || limit > MAX_NEAREST_LIMIT) {
+            throw new InvalidStallQueryException("limit must be between 1 and " + MAX_NEAREST_LIMIT);
+        }
+
+        double originX;
+        double originY;
+        if (nearStallId != null) {
+            Stall reference = findStall(eventId, nearStallId);
+            if (reference.getPosX() == null || reference.getPosY() == null) {
+                throw new InvalidStallQueryException("Stall " + nearStallId + " has no floor-plan position");
+            }
+            originX = reference.getPosX();
+            originY = reference.getPosY();
+        } else if (x != null && y != null) {
+            originX = x;
+            originY = y;
+        } else {
+            throw new InvalidStallQueryException("Either x and y or nearStallId is required");
+        }
+
+        return stallRepository.findNearestAvailable(eventId, originX, originY, nearStallId,
+                        size != null ? size.name() : null, maxPrice, limit).stream()
+                .map(stall -> NearbyStallResponse.builder()
+                        .stall(mapToResponse(stall))
+                        .distance(Math.hypot(stall.getPosX() - originX, stall.getPosY() - originY))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Full-text search over code and location, best matches first. Every word of the text must
+     * match, each as a prefix, so "prem corner hall a" finds "Hall A - Premium Corner".
+     *
+     * @param limit number of stalls to return, at most {@value #MAX_SEARCH_LIMIT}
+     */
+    @Transactional(readOnly = true)
+    public List<StallSearchResponse> searchStalls(Long eventId, String text, int limit) {
+        log.debug("Searching stalls for event {} - text: {}, limit: {}", eventId, text, limit);
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new InvalidStallQueryException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        String query = toPrefixQuery(text);
+        if (query == null) {
+            throw new InvalidStallQueryException("q must contain at least one letter or digit");
+        }
+
+        List<StallSearchHit> hits =
+                stallRepository.searchStalls(eventId, query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Stall> stalls = stallRepository.findByEventIdAndIdIn(eventId,
+                        hits.stream().map(StallSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Stall::getId, stall -> stall));
+        return hits.stream()
+                .filter(hit -> stalls.containsKey(hit.getId()))
+                .map(hit -> StallSearchResponse.builder()
+                        .stall(pricingEngine.applyEffectivePrice(mapToResponse(stalls.get(hit.getId()))))
+                        .rank(hit.getRank())
+                        .highlight(hit.getHighlight())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Turns free text into a tsquery that ANDs every word as a prefix, e.g. "Hall A" becomes
+     * "hall:* & a:*". Anything but letters and digits separates words, so user input can never
+     * inject tsquery operators.
+     *
+     * @return null when the text has no words
+     */
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String query = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    private StallLocation resolveLocation(StallLocation base, String hall, String wing, String row, String slot) {
+        return new StallLocation(
+                hall != null ? hall : base.getHall(),
+                wing != null ? wing : base.getWing(),
+                row != null ? row : base.getRow(),
+                slot != null ? slot : base.getSlot());
+    }
+
+    private Stall findStall(Long eventId, Long id) {
+        // Lookup by (event_id, id) so PostgreSQL only probes the event's partition
+        return stallRepository.findByEventIdAndId(eventId, id)
+                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + id));
+    }
+
+    private Optional<List<StallResponse>> findInReadModel(
+            Long eventId, StallStatus status, StallSize size, String location,
+            BigDecimal minPrice, BigDecimal maxPrice, Sort sort) {
+        StallReadModel model = readModel.getIfAvailable();
+        return model != null
+                ? model.find(eventId, status, size, location, minPrice, maxPrice, sort)
+                : Optional.empty();
+    }
+
+    private List<StallResponse> page(List<StallResponse> matching, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), matching.size());
+        int to = Math.min(from + pageable.getPageSize(), matching.size());
+        return matching.subList(from, to).stream()
+                .map(pricingEngine::applyEffectivePrice)
+                .toList();
+    }
+
+    /**
+     * Hands a written stall to the read model, which applies it on commit, and announces it to
+     * the other instances. Later changes to the same entity in the transaction are included, as
+     * it is mapped at commit.
+     */
+    private Stall recordChange(Stall stall) {
+        // Increments the version, and stamps updated_at, before the caller maps its response
+        stallRepository.flush();
+        readModel.ifAvailable(model -> model.applyAfterCommit(stall));
+        invalidationPublisher.ifAvailable(publisher -> publisher.publishAfterCommit(stall));
+        return stall;
+    }
+
+    private void registerEventIfAbsent(Long eventId) {
+        // Registering the event creates its stall partition in PostgreSQL
+        if (!exhibitionEventRepository.existsById(eventId)) {
+            try {
+                exhibitionEventService.registerEvent(eventId);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Exhibition event {} was registered concurrently", eventId);
+            }
+        }
+    }
+
+    // Shared with ReactiveStallService
+    static StallResponse mapToResponse(Stall stall) {
         return StallResponse.builder()
                 .id(stall.getId())
+                .eventId(stall.getEventId())
                 .code(stall.getCode())
                 .size(stall.getSize())
                 .location(stall.getLocation())
+                .hall(stall.getHall())
+                .wing(stall.getWing())
+                .row(stall.getRowLabel())
+                .slot(stall.getSlot())
+                .posX(stall.getPosX())
+                .posY(stall.getPosY())
                 .price(stall.getPrice())
                 .status(stall.getStatus())
                 .createdAt(stall.getCreatedAt())
                 .updatedAt(stall.getUpdatedAt())
+                .deletedAt(stall.getDeletedAt())
+                .version(stall.getVersion())
                 .build();
     }
+
+    // Shared with ReactiveStallService
+    static void validatePriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new InvalidStallQueryException("minPrice and maxPrice must not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidStallQueryException("minPrice must not be greater than maxPrice");
+        }
+    }
+
+    // Rows with equal prices would otherwise come back in arbitrary order and shift between pages
+    static Sort withIdTiebreak(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
 }
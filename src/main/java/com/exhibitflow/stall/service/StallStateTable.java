@@ -0,0 +1,114 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallStatus;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Status of every known stall, held in fixed-size chunks of primitive arrays indexed by stall id.
+ *
+ * <p>Transitions are a compare-and-set on the stall's status slot, so racing holds on one stall
+ * never block and exactly one of them wins. Chunks are never copied once created; adding ids
+ * only replaces the chunk directory, so it cannot lose a concurrent transition.
+ */
+final class StallStateTable {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int ABSENT = -1;
+    private static final StallStatus[] STATUSES = StallStatus.values();
+
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    /**
+     * @return the in-memory status, or null when the stall has not been loaded
+     */
+    StallStatus status(long id) {
+        Chunk chunk = chunk(id);
+        if (chunk == null) {
+            return null;
+        }
+        int state = chunk.states.get(offset(id));
+        return state == ABSENT ? null : STATUSES[state];
+    }
+
+    /**
+     * @return the stall details last loaded or registered, or null when unknown
+     */
+    Stall stall(long id) {
+        Chunk chunk = chunk(id);
+        return chunk != null ? chunk.stalls.get(offset(id)) : null;
+    }
+
+    boolean compareAndSet(long id, StallStatus expected, StallStatus update) {
+        Chunk chunk = chunk(id);
+        return chunk != null && chunk.states.compareAndSet(offset(id), expected.ordinal(), update.ordinal());
+    }
+
+    /**
+     * Add a stall with its persisted status, or replace the details of a known stall while
+     * keeping its in-memory status.
+     */
+    void put(Stall stall) {
+        long id = stall.getId();
+        Chunk chunk = chunk(id);
+        if (chunk == null) {
+            chunk = createChunk(id);
+        }
+        // Details are visible to anyone who reads the status slot written after them
+        chunk.stalls.set(offset(id), stall);
+        chunk.states.compareAndSet(offset(id), ABSENT, stall.getStatus().ordinal());
+    }
+
+    /**
+     * Forget a stall that no longer exists; a transition racing with the removal fails its CAS.
+     */
+    void remove(long id) {
+        Chunk chunk = chunk(id);
+        if (chunk != null) {
+            chunk.states.set(offset(id), ABSENT);
+            chunk.stalls.set(offset(id), null);
+        }
+    }
+
+    synchronized void clear() {
+        chunks = new Chunk[0];
+    }
+
+    private Chunk chunk(long id) {
+        Chunk[] current = chunks;
+        long index = id >>> CHUNK_BITS;
+        return index < current.length ? current[(int) index] : null;
+    }
+
+    private synchronized Chunk createChunk(long id) {
+        int index = Math.toIntExact(id >>> CHUNK_BITS);
+        Chunk[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        Chunk[] grown = Arrays.copyOf(current, Math.max(current.length, index + 1));
+        grown[index] = new Chunk();
+        chunks = grown;
+        return grown[index];
+    }
+
+    private static int offset(long id) {
+        return (int) (id & CHUNK_MASK);
+    }
+
+    private static final class Chunk {
+        private final AtomicIntegerArray states = new AtomicIntegerArray(CHUNK_SIZE);
+        private final AtomicReferenceArray<Stall> stalls = new AtomicReferenceArray<>(CHUNK_SIZE);
+
+        private Chunk() {
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                states.set(i, ABSENT);
+            }
+        }
+    }
+}
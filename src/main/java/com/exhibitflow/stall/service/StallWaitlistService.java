@@ -0,0 +1,152 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.WaitlistProperties;
+import com.exhibitflow.stall.dto.StallWaiterResponse;
+import com.exhibitflow.stall.model.StallWaiter;
+import com.exhibitflow.stall.repository.StallRepository;
+import com.exhibitflow.stall.repository.StallWaiterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * First-come, first-served queue of callers waiting to hold a stall.
+ *
+ * <p>Waiters are stored in the database so a release on any instance offers the stall to the
+ * oldest live waiter, whichever instance they queued on. Expired waiters are skipped and swept.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StallWaitlistService {
+
+    private final StallWaiterRepository waiterRepository;
+    private final StallRepository stallRepository;
+    private final WaitlistProperties properties;
+
+    /**
+     * Queue the caller for the stall. Joining again while queued keeps the original position.
+     *
+     * <p>Locks the stall row so concurrent joins on any instance count and insert one at a time and
+     * cannot overshoot {@code stall.waitlist.max-waiters-per-stall}.
+     */
+    @Transactional
+    public StallWaiterResponse join(Long eventId, Long stallId, String username) {
+        stallRepository.lockByEventIdAndId(eventId, stallId)
+                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + stallId));
+        // Stored timestamps keep microseconds; queue order and positions compare against them
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        Optional<StallWaiter> existing = waiterRepository.findByStallIdAndUsername(stallId, username);
+        if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+            return toResponse(existing.get(), now);
+        }
+        existing.ifPresent(waiter -> {
+            waiterRepository.delete(waiter);
+            waiterRepository.flush();
+        });
+
+        if (waiterRepository.countByStallIdAndExpiresAtAfter(stallId, now) >= properties.getMaxWaitersPerStall()) {
+            throw new WaitlistFullException("Waitlist for stall " + stallId + " is full");
+        }
+        StallWaiter waiter = waiterRepository.save(StallWaiter.builder()
+                .eventId(eventId)
+                .stallId(stallId)
+                .username(username)
+                .queuedAt(now)
+                .expiresAt(now.plus(properties.getWaiterTtl()))
+                .build());
+        log.debug("User {} queued for stall {}", username, stallId);
+        return toResponse(waiter, now);
+    }
+
+    @Transactional
+    public boolean leave(Long eventId, Long stallId, String username) {
+        return waiterRepository.deleteByEventIdAndStallIdAndUsername(eventId, stallId, username) > 0;
+    }
+
+    /**
+     * Drop the queues of stalls that were deleted or archived.
+     */
+    @Transactional
+    public void clear(Collection<Long> stallIds) {
+        if (!stallIds.isEmpty()) {
+            waiterRepository.deleteByStallIdIn(stallIds);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<StallWaiterResponse> getWaiters(Long eventId, Long stallId) {
+        stallRepository.findByEventIdAndId(eventId, stallId)
+                .orElseThrow(() -> new StallNotFoundException("Stall not found with id: " + stallId));
+        LocalDateTime now = LocalDateTime.now();
+        List<StallWaiter> waiters = waiterRepository.findByStallIdAndExpiresAtAfterOrderByQueuedAtAscIdAsc(stallId, now);
+        return IntStream.range(0, waiters.size())
+                .mapToObj(i -> toResponse(waiters.get(i), i + 1))
+                .toList();
+    }
+
+    /**
+     * Remove and return the oldest live waiter. Joins the caller's transaction, so a release that
+     * rolls back keeps the waiter queued.
+     */
+    @Transactional
+    public Optional<StallWaiter> pollNext(Long stallId) {
+        LocalDateTime now = LocalDateTime.now();
+        while (true) {
+            Optional<StallWaiter> next = waiterRepository.findFirstByStallIdAndExpiresAtAfterOrderByQueuedAtAscIdAsc(stallId, now);
+            if (next.isEmpty() || waiterRepository.deleteIfPresent(next.get().getId()) == 1) {
+                return next;
+            }
+            // A concurrent release took this waiter; try the next one
+        }
+    }
+
+    /**
+     * Put back a waiter taken by {@link #pollNext} whose offer could not be made, keeping its place.
+     */
+    @Transactional
+    public void restore(StallWaiter waiter) {
+        waiterRepository.save(StallWaiter.builder()
+                .eventId(waiter.getEventId())
+                .stallId(waiter.getStallId())
+                .username(waiter.getUsername())
+                .queuedAt(waiter.getQueuedAt())
+                .expiresAt(waiter.getExpiresAt())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${stall.waitlist.sweep-interval:PT1M}")
+    @Transactional
+    public void evictExpired() {
+        int removed = waiterRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.debug("Removed {} expired stall waiters", removed);
+        }
+    }
+
+    private StallWaiterResponse toResponse(StallWaiter waiter, LocalDateTime now) {
+        long ahead = waiterRepository.countAhead(waiter.getStallId(), waiter.getQueuedAt(), waiter.getId(), now);
+        return toResponse(waiter, ahead + 1);
+    }
+
+    private static StallWaiterResponse toResponse(StallWaiter waiter, long position) {
+        return StallWaiterResponse.builder()
+                .stallId(waiter.getStallId())
+                .eventId(waiter.getEventId())
+                .username(waiter.getUsername())
+                .position(position)
+                .queuedAt(waiter.getQueuedAt())
+                .expiresAt(waiter.getExpiresAt())
+                .build();
+    }
+}
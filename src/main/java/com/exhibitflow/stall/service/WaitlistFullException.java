@@ -0,0 +1,7 @@
+package com.exhibitflow.stall.service;
+
+public class WaitlistFullException extends RuntimeException {
+    public WaitlistFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+-- V10__stall_soft_delete_and_archive.sql
+-- Soft delete for stalls and an archive for stalls of finished exhibitions.
+
+ALTER TABLE stall ADD COLUMN deleted_at TIMESTAMP;
+
+-- Codes stay unique among live stalls only, so the code of a deleted stall can be reused
+ALTER TABLE stall DROP CONSTRAINT uk_stall_event_code;
+CREATE UNIQUE INDEX uk_stall_event_code ON stall (event_id, code) WHERE deleted_at IS NULL;
+
+ALTER TABLE exhibition_event
+    ADD COLUMN ends_at TIMESTAMP,
+    ADD COLUMN archived_at TIMESTAMP;
+
+-- Stalls moved out of the hot table once their event has ended (see StallArchiveService)
+CREATE TABLE stall_archive (
+    id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    code VARCHAR(50) NOT NULL,
+    size VARCHAR(20) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    hall VARCHAR(100),
+    wing VARCHAR(100),
+    row_label VARCHAR(50),
+    slot VARCHAR(50),
+    pos_x DOUBLE PRECISION,
+    pos_y DOUBLE PRECISION,
+    price DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT stall_archive_pkey PRIMARY KEY (event_id, id)
+);
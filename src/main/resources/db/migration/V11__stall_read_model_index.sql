@@ -0,0 +1,4 @@
+-- V11__stall_read_model_index.sql
+-- Keyset scans of the read model catch-up: rows after an (updated_at, id) watermark across all events.
+
+CREATE INDEX idx_stall_updated_at ON stall (updated_at, id);
@@ -0,0 +1,12 @@
+-- V12__stall_full_text_search.sql
+-- Full-text search over stall code and location for GET /api/stalls/search.
+-- The 'simple' configuration neither stems nor drops stop words, so hall letters ("Hall A") and
+-- stall codes stay searchable. Codes rank above location words. Further text columns (e.g. a
+-- description) are added by recreating the generated column with another weighted term.
+
+ALTER TABLE stall ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(code, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_stall_search ON stall USING gin (search_vector);
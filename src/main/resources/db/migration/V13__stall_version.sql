@@ -0,0 +1,5 @@
+-- V13__stall_version.sql
+-- Row version for optimistic locking, carried in cross-instance invalidation messages.
+
+ALTER TABLE stall ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE stall_archive ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,61 @@
+-- V3__partition_stall_by_event.sql
+-- Scope stalls by exhibition event and partition the stall table by event_id.
+-- Every event gets its own partition, created when the event is registered, so queries
+-- for a live show only touch that show's rows and indexes.
+
+CREATE TABLE exhibition_event (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Move the flat table out of the way, keeping its id sequence
+DROP INDEX idx_stall_status;
+DROP INDEX idx_stall_code;
+ALTER TABLE stall RENAME TO stall_legacy;
+ALTER TABLE stall_legacy RENAME CONSTRAINT stall_pkey TO stall_legacy_pkey;
+ALTER TABLE stall_legacy RENAME CONSTRAINT stall_code_key TO stall_legacy_code_key;
+ALTER SEQUENCE stall_id_seq OWNED BY NONE;
+
+-- Partition key must be part of every unique constraint, so codes are unique per event
+CREATE TABLE stall (
+    id BIGINT NOT NULL DEFAULT nextval('stall_id_seq'),
+    event_id BIGINT NOT NULL REFERENCES exhibition_event (id),
+    code VARCHAR(50) NOT NULL,
+    size VARCHAR(20) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT stall_pkey PRIMARY KEY (event_id, id),
+    CONSTRAINT uk_stall_event_code UNIQUE (event_id, code),
+    CONSTRAINT chk_size CHECK (size IN ('SMALL', 'MEDIUM', 'LARGE')),
+    CONSTRAINT chk_status CHECK (status IN ('AVAILABLE', 'HELD', 'RESERVED'))
+) PARTITION BY LIST (event_id);
+
+ALTER SEQUENCE stall_id_seq OWNED BY stall.id;
+
+CREATE INDEX idx_stall_status ON stall (event_id, status);
+
+-- Create the partition for an event as soon as the event is registered
+CREATE FUNCTION create_stall_partition() RETURNS trigger AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF stall FOR VALUES IN (%s)',
+                   'stall_event_' || NEW.id, NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_exhibition_event_partition
+    AFTER INSERT ON exhibition_event
+    FOR EACH ROW EXECUTE FUNCTION create_stall_partition();
+
+-- Existing stalls become the default event
+INSERT INTO exhibition_event (id, name) VALUES (1, 'Default exhibition');
+
+INSERT INTO stall (id, event_id, code, size, location, price, status, created_at, updated_at)
+SELECT id, 1, code, size, location, price, status, created_at, updated_at
+FROM stall_legacy;
+
+DROP TABLE stall_legacy;
@@ -0,0 +1,18 @@
+-- V4__structured_stall_location.sql
+-- Split the free-text location into hall / wing / row / slot so floor plans can be read
+-- with an index range scan instead of a LIKE scan.
+
+ALTER TABLE stall
+    ADD COLUMN hall VARCHAR(100),
+    ADD COLUMN wing VARCHAR(100),
+    ADD COLUMN row_label VARCHAR(50),
+    ADD COLUMN slot VARCHAR(50);
+
+-- Backfill from locations of the form '<hall> - <wing>, <row>'
+UPDATE stall SET
+    hall = LEFT(NULLIF(TRIM(split_part(location, ' - ', 1)), ''), 100),
+    wing = LEFT(NULLIF(TRIM(split_part(split_part(location, ' - ', 2), ',', 1)), ''), 100),
+    row_label = LEFT(NULLIF(TRIM(split_part(split_part(location, ' - ', 2), ',', 2)), ''), 50);
+
+-- Serves floor plans (hall, hall + wing) and per-hall aggregation within an event partition
+CREATE INDEX idx_stall_hall_path ON stall (event_id, hall, wing, row_label, slot);
@@ -0,0 +1,11 @@
+-- V5__stall_floor_plan_position.sql
+-- Floor-plan coordinates (metres from the venue origin) with a KNN-capable GiST index,
+-- so "closest available stall" is answered by an ordered index scan.
+
+ALTER TABLE stall
+    ADD COLUMN pos_x DOUBLE PRECISION,
+    ADD COLUMN pos_y DOUBLE PRECISION;
+
+-- Only available stalls are ever searched by distance; the index is built per event partition
+CREATE INDEX idx_stall_position_available ON stall USING gist (point(pos_x, pos_y))
+    WHERE status = 'AVAILABLE' AND pos_x IS NOT NULL AND pos_y IS NOT NULL;
@@ -0,0 +1,11 @@
+-- V6__stall_price_filter_index.sql
+-- Serve price-range filters and sort=price from an index range scan within an event partition.
+
+-- status + size + price range, ordered by price then id; also covers (event_id, status) lookups
+CREATE INDEX idx_stall_filter_price ON stall (event_id, status, size, price, id);
+
+-- Price range or sort=price without a status filter
+CREATE INDEX idx_stall_event_price ON stall (event_id, price, id);
+
+-- Prefix of idx_stall_filter_price
+DROP INDEX idx_stall_status;
@@ -0,0 +1,9 @@
+-- V7__inventory_lease.sql
+-- Single-owner lease for the in-memory inventory engine (stall.inventory.enabled).
+-- The owner renews expires_at periodically; other instances take over once it has passed.
+
+CREATE TABLE inventory_lease (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,15 @@
+-- V8__stall_waiter.sql
+-- FIFO waitlist for contested holds: a released stall is held for the oldest live waiter.
+
+CREATE TABLE stall_waiter (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    stall_id BIGINT NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    queued_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_stall_waiter UNIQUE (stall_id, username)
+);
+
+CREATE INDEX idx_stall_waiter_queue ON stall_waiter (stall_id, queued_at, id);
+CREATE INDEX idx_stall_waiter_expires ON stall_waiter (expires_at);
@@ -0,0 +1,4 @@
+-- V9__stall_change_feed_index.sql
+-- Keyset scans of GET /api/stalls/changes: rows after an (updated_at, id) watermark within an event.
+
+CREATE INDEX idx_stall_event_updated_at ON stall (event_id, updated_at, id);
@@ -0,0 +1,20 @@
+package com.exhibitflow.stall;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a benchmark test class. Benchmarks are excluded from the default test run and run only
+ * with mvn -Pfast-startup test; they report their results through {@link BenchmarkReport}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("benchmark")
+@DisabledInNativeImage
+public @interface Benchmark {
+}
@@ -0,0 +1,27 @@
+package com.exhibitflow.stall;
+
+import org.junit.jupiter.api.TestReporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Results of a {@link Benchmark}, one line per measurement.
+ */
+final class BenchmarkReport {
+
+    private BenchmarkReport() {
+    }
+
+    /**
+     * Writes the report to target/{name}.txt and publishes it as a test report entry.
+     */
+    static void publish(TestReporter testReporter, String name, List<?> lines) throws IOException {
+        StringBuilder report = new StringBuilder();
+        lines.forEach(line -> report.append(line).append(System.lineSeparator()));
+        Files.writeString(Path.of("target", name + ".txt"), report);
+        testReporter.publishEntry(name, report.toString());
+    }
+}
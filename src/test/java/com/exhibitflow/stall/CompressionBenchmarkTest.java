@@ -0,0 +1,189 @@
+package com.exhibitflow.stall;
+
+import com.exhibitflow.stall.event.RecordingStallEventPublisher;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallLocation;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.StallRepository;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures bytes on the wire and end-to-end latency of the full stall catalogue
+ * (GET /api/stalls?page=0) over HTTP/1.1 and h2c, with and without gzip.
+ *
+ * <p>Runs only with mvn -Pfast-startup test. Results are written to target/compression-benchmark.txt.
+ * Latency includes decompressing the body on the client.
+ */
+@Benchmark
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:compressiondb")
+@ActiveProfiles({"test", "no-broker"})
+@Import(RecordingStallEventPublisher.Config.class)
+class CompressionBenchmarkTest {
+
+    private static final int STALLS = 2000;
+    private static final int WARM_UP = 5;
+    private static final int RUNS = 20;
+    private static final String[] HALLS = {"Hall A", "Hall B", "Hall C", "Outdoor Area"};
+    private static final String[] WINGS = {"North Wing", "South Wing", "East Wing", "West Wing"};
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @Test
+    void fullCatalogue_shouldBeSmallerWithGzip(TestReporter testReporter) throws Exception {
+        // Given
+        seedCatalogue();
+        String token = token();
+
+        // When
+        Map<Variant, Result> results = new LinkedHashMap<>();
+        for (HttpClient.Version version : HttpClient.Version.values()) {
+            HttpClient client = HttpClient.newBuilder().version(version).build();
+            for (String encoding : new String[]{"identity", "gzip"}) {
+                results.put(new Variant(version, encoding), measure(client, version, encoding, token));
+            }
+        }
+
+        // Then
+        List<Object> lines = new ArrayList<>();
+        lines.add("stalls: " + STALLS);
+        lines.addAll(results.values());
+        BenchmarkReport.publish(testReporter, "compression-benchmark", lines);
+        Result http2Identity = results.get(new Variant(HttpClient.Version.HTTP_2, "identity"));
+        Result http2Gzip = results.get(new Variant(HttpClient.Version.HTTP_2, "gzip"));
+        assertThat(http2Gzip.protocol).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(http2Gzip.contentEncoding).isEqualTo("gzip");
+        assertThat(http2Gzip.wireBytes).isLessThan(http2Identity.wireBytes / 5);
+    }
+
+    private Result measure(HttpClient client, HttpClient.Version version, String encoding, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/stalls?page=0"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept-Encoding", encoding)
+                .GET()
+                .build();
+        long[] nanos = new long[RUNS];
+        HttpResponse<byte[]> response = null;
+        for (int i = 0; i < WARM_UP + RUNS; i++) {
+            long started = System.nanoTime();
+            response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int bodyLength = decode(response).length;
+            if (i >= WARM_UP) {
+                nanos[i - WARM_UP] = System.nanoTime() - started;
+            }
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(bodyLength).isGreaterThan(0);
+        }
+        Arrays.sort(nanos);
+        return new Result(version, response.version(), encoding,
+                response.headers().firstValue("Content-Encoding").orElse("identity"),
+                response.body().length, decode(response).length, nanos[RUNS / 2] / 1_000_000d);
+    }
+
+    private static byte[] decode(HttpResponse<byte[]> response) throws Exception {
+        if (!"gzip".equals(response.headers().firstValue("Content-Encoding").orElse(null))) {
+            return response.body();
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private void seedCatalogue() {
+        stallRepository.deleteAll();
+        List<Stall> stalls = new ArrayList<>();
+        for (int i = 0; i < STALLS; i++) {
+            String location = HALLS[i % HALLS.length] + " - " + WINGS[(i / 4) % WINGS.length] + ", Row " + (i % 25 + 1);
+            Stall stall = Stall.builder()
+                    .eventId(1L)
+                    .code(String.format("S-%04d", i))
+                    .size(StallSize.values()[i % StallSize.values().length])
+                    .location(location)
+                    .price(new BigDecimal(400 + (i % 30) * 25))
+                    .status(StallStatus.values()[i % StallStatus.values().length])
+                    .build();
+            stall.applyLocation(StallLocation.parse(location));
+            stalls.add(stall);
+        }
+        stallRepository.saveAll(stalls);
+    }
+
+    private String token() throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("benchmark")
+                .claim("roles", List.of("VIEWER"))
+                .expirationTime(new Date(System.currentTimeMillis() + 600_000))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        jwt.sign(new MACSigner(jwtSecret.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+
+    private record Variant(HttpClient.Version version, String acceptEncoding) {
+    }
+
+    private static final class Result {
+        private final HttpClient.Version requested;
+        private final HttpClient.Version protocol;
+        private final String acceptEncoding;
+        private final String contentEncoding;
+        private final int wireBytes;
+        private final int jsonBytes;
+        private final double medianMillis;
+
+        private Result(HttpClient.Version requested, HttpClient.Version protocol, String acceptEncoding,
+                       String contentEncoding, int wireBytes, int jsonBytes, double medianMillis) {
+            this.requested = requested;
+            this.protocol = protocol;
+            this.acceptEncoding = acceptEncoding;
+            this.contentEncoding = contentEncoding;
+            this.wireBytes = wireBytes;
+            this.jsonBytes = jsonBytes;
+            this.medianMillis = medianMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (requested %s), Accept-Encoding %s: %d bytes on the wire (%s, %d bytes JSON), median %.1f ms",
+                    protocol, requested, acceptEncoding, wireBytes, contentEncoding, jsonBytes, medianMillis);
+        }
+    }
+}
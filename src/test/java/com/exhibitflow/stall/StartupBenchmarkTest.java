@@ -0,0 +1,61 @@
+package com.exhibitflow.stall;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures application context startup with the default and the fast-startup profile.
+ *
+ * <p>Runs only with mvn -Pfast-startup test. Results are written to target/startup-benchmark.txt.
+ * Eureka is disabled and no Kafka broker is needed, since producers connect on first send.
+ */
+@Benchmark
+class StartupBenchmarkTest {
+
+    private static final int RUNS = 3;
+
+    @Test
+    void fastStartupProfile_shouldStartFasterThanDefault(TestReporter testReporter) throws Exception {
+        // Given: one warm-up start so both variants see loaded classes
+        start("test");
+
+        // When
+        Duration standard = fastest("test");
+        Duration fast = fastest("test", "fast-startup");
+
+        // Then
+        BenchmarkReport.publish(testReporter, "startup-benchmark", List.of(
+                "default: " + standard.toMillis() + " ms",
+                "fast-startup: " + fast.toMillis() + " ms"));
+        assertThat(fast).isLessThan(standard);
+    }
+
+    private Duration fastest(String... profiles) {
+        List<Duration> runs = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            runs.add(start(profiles));
+        }
+        return runs.stream().min(Duration::compareTo).orElseThrow();
+    }
+
+    private Duration start(String... profiles) {
+        SpringApplication application = new SpringApplication(StallServiceApplication.class);
+        application.setAdditionalProfiles(profiles);
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext ignored = application.run(
+                "--server.port=0",
+                "--eureka.client.enabled=false",
+                "--spring.kafka.bootstrap-servers=localhost:9092",
+                "--spring.datasource.url=jdbc:h2:mem:startup-" + System.nanoTime())) {
+            return Duration.ofNanos(System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.exhibitflow.stall.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceSettingsValidatorTest {
+
+    private MockEnvironment environment;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("spring.jpa.open-in-view", "false")
+                .withProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "50")
+                .withProperty("spring.jpa.properties.hibernate.query.in_clause_parameter_padding", "true");
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:postgresql://localhost:5432/stalldb");
+        dataSource.setMaximumPoolSize(16);
+        dataSource.setMinimumIdle(16);
+        dataSource.setConnectionTimeout(2000);
+        dataSource.setMaxLifetime(1_740_000);
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        dataSource.addDataSourceProperty("defaultRowFetchSize", "100");
+    }
+
+    @Test
+    void findRisks_shouldReturnNothing_forTunedSettings() {
+        // When
+        List<String> risks = new DataSourceSettingsValidator(environment, dataSource).findRisks();
+
+        // Then
+        assertThat(risks).isEmpty();
+    }
+
+    @Test
+    void findRisks_shouldFlagFormatSqlWithoutShowSql() {
+        // Given
+        environment.setProperty("spring.jpa.show-sql", "false");
+        environment.setProperty("spring.jpa.properties.hibernate.format_sql", "true");
+
+        // When
+        List<String> risks = new DataSourceSettingsValidator(environment, dataSource).findRisks();
+
+        // Then
+        assertThat(risks).singleElement().asString().contains("format_sql has no effect");
+    }
+
+    @Test
+    void findRisks_shouldFlagDefaultPoolAndDriverSettings() {
+        // Given
+        HikariDataSource defaults = new HikariDataSource();
+        defaults.setJdbcUrl("jdbc:postgresql://localhost:5432/stalldb");
+
+        // When
+        List<String> risks = new DataSourceSettingsValidator(environment, defaults).findRisks();
+
+        // Then
+        assertThat(risks).anyMatch(risk -> risk.startsWith("connection-timeout 30000ms"))
+                .anyMatch(risk -> risk.startsWith("reWriteBatchedInserts is off"))
+                .anyMatch(risk -> risk.startsWith("defaultRowFetchSize is unset"));
+    }
+
+    @Test
+    void findRisks_shouldFlagAutoCommitMismatch() {
+        // Given
+        environment.setProperty("spring.jpa.properties.hibernate.connection.provider_disables_autocommit", "true");
+
+        // When
+        List<String> risks = new DataSourceSettingsValidator(environment, dataSource).findRisks();
+
+        // Then
+        assertThat(risks).singleElement().asString().contains("provider_disables_autocommit");
+    }
+}
@@ -0,0 +1,90 @@
+package com.exhibitflow.stall.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplingTurboFilterTest {
+
+    private LogSamplingTurboFilter filter;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LogSamplingTurboFilter();
+        filter.setMaxPerSecond(2);
+        filter.setSampleEvery(3);
+        filter.start();
+        logger = new LoggerContext().getLogger("com.exhibitflow.stall.service.StallService");
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void decide_shouldSampleInfo_afterLimitPerSecond() {
+        // When
+        int kept = 0;
+        for (int i = 0; i < 8; i++) {
+            if (decide(Level.INFO, "Stall {} held successfully") != FilterReply.DENY) {
+                kept++;
+            }
+        }
+
+        // Then: 2 within the limit, then every 3rd of the remaining 6
+        assertThat(kept).isEqualTo(4);
+    }
+
+    @Test
+    void decide_shouldLimitEachTemplateSeparately() {
+        // Given
+        decide(Level.INFO, "Holding stall with id: {}");
+        decide(Level.INFO, "Holding stall with id: {}");
+
+        // When/Then
+        assertThat(decide(Level.INFO, "Holding stall with id: {}")).isEqualTo(FilterReply.DENY);
+        assertThat(decide(Level.INFO, "Releasing stall with id: {}")).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_shouldNeverDropWarnings() {
+        // When/Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(decide(Level.WARN, "Replica {} is now {}")).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    void decide_shouldAcceptDebug_whenRequestIsTraced() {
+        // Given
+        MDC.put(LogSamplingTurboFilter.TRACE_MDC_KEY, "true");
+
+        // When/Then
+        assertThat(decide(Level.DEBUG, "Fetching stall by id: {}")).isEqualTo(FilterReply.ACCEPT);
+    }
+
+    @Test
+    void decide_shouldIgnoreOtherLoggers() {
+        // Given
+        Logger other = new LoggerContext().getLogger("org.hibernate.SQL");
+
+        // When/Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter.decide(null, other, Level.INFO, "select", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    private FilterReply decide(Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
@@ -0,0 +1,103 @@
+package com.exhibitflow.stall.config;
+
+import com.exhibitflow.stall.service.RateLimitService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTest {
+
+    private RateLimitService rateLimitService;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoles(Map.of("VIEWER", new RateLimitProperties.Limit(2, 0.01, 1)));
+        rateLimitService = new RateLimitService(properties, mock(ObjectProvider.class));
+        filter = new RateLimitFilter(rateLimitService, properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("integration-a", null, "ROLE_VIEWER"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_shouldReturn429_whenBucketIsEmpty() throws Exception {
+        // Given
+        assertThat(perform("/api/stalls/1").getStatus()).isEqualTo(200);
+        assertThat(perform("/api/stalls/1").getStatus()).isEqualTo(200);
+
+        // When
+        MockHttpServletResponse response = perform("/api/stalls/1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+        assertThat(response.getContentAsString()).contains("Rate limit exceeded for role VIEWER");
+    }
+
+    @Test
+    void doFilter_shouldLimitEachSubjectSeparately() throws Exception {
+        // Given
+        perform("/api/stalls/1");
+        perform("/api/stalls/1");
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("integration-b", null, "ROLE_VIEWER"));
+
+        // When/Then
+        assertThat(perform("/api/stalls/1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_shouldReturn429_whenListBulkheadIsFull() throws Exception {
+        // Given: another list request of the same role is in flight
+        assertThat(rateLimitService.tryEnterList("VIEWER")).isTrue();
+
+        // When/Then
+        assertThat(perform("/api/stalls").getStatus()).isEqualTo(429);
+        assertThat(perform("/api/stalls/1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_shouldReleaseBulkhead_afterListRequest() throws Exception {
+        // When
+        perform("/api/events/2/stalls");
+
+        // Then
+        assertThat(rateLimitService.tryEnterList("VIEWER")).isTrue();
+    }
+
+    @Test
+    void highestRole_shouldPreferMostGenerousRole() {
+        // When/Then
+        assertThat(RateLimitFilter.highestRole(new TestingAuthenticationToken("u", null, "ROLE_VIEWER", "ROLE_MANAGER")))
+                .isEqualTo("MANAGER");
+        assertThat(RateLimitFilter.highestRole(new TestingAuthenticationToken("u", null, "content:read")))
+                .isEqualTo(RateLimitService.DEFAULT_ROLE);
+    }
+
+    private MockHttpServletResponse perform(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package com.exhibitflow.stall.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadReplicaRoutingDataSource(lagMonitor, new ReadYourWritesTracker(Duration.ofMinutes(1)));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("manager", "n/a"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldUseReplica_forReadOnlyTransaction() {
+        // Given
+        when(lagMonitor.nextHealthyReplica()).thenReturn("replica-1");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When/Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldFallBackToPrimary_whenNoHealthyReplica() {
+        // Given
+        when(lagMonitor.nextHealthyReplica()).thenReturn(null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When/Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldPinReadsToPrimary_afterWrite() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+}
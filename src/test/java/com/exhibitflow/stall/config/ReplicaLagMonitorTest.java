@@ -0,0 +1,89 @@
+package com.exhibitflow.stall.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica-1", dataSource), Duration.ofSeconds(5));
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    }
+
+    @Test
+    void checkLag_shouldEnableReplica_whenStreamingAndCaughtUp() throws SQLException {
+        // Given
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(0d);
+        when(resultSet.wasNull()).thenReturn(false);
+
+        // When
+        lagMonitor.checkLag();
+
+        // Then
+        assertThat(lagMonitor.nextHealthyReplica()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void checkLag_shouldDisableReplica_whenLagIsUnknown() throws SQLException {
+        // Given - the query returns NULL when the WAL receiver is not streaming
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(0d);
+        when(resultSet.wasNull()).thenReturn(true);
+
+        // When
+        lagMonitor.checkLag();
+
+        // Then
+        assertThat(lagMonitor.nextHealthyReplica()).isNull();
+    }
+
+    @Test
+    void checkLag_shouldDisableReplica_whenLagExceedsBudget() throws SQLException {
+        // Given
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(6_000d);
+        when(resultSet.wasNull()).thenReturn(false);
+
+        // When
+        lagMonitor.checkLag();
+
+        // Then
+        assertThat(lagMonitor.nextHealthyReplica()).isNull();
+    }
+}
@@ -0,0 +1,60 @@
+package com.exhibitflow.stall.config;
+
+import com.exhibitflow.stall.service.LogTraceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLoggingContextFilterTest {
+
+    private LogTraceService logTraceService;
+    private RequestLoggingContextFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        logTraceService = new LogTraceService();
+        filter = new RequestLoggingContextFilter(logTraceService);
+    }
+
+    @Test
+    void doFilter_shouldFlagTracedStall() throws Exception {
+        // Given
+        logTraceService.enable(42L, null, Duration.ofMinutes(5));
+
+        // When
+        Map<String, String> mdc = perform("/api/stalls/42/hold");
+
+        // Then
+        assertThat(mdc).containsEntry(RequestLoggingContextFilter.STALL_MDC_KEY, "42")
+                .containsEntry(LogSamplingTurboFilter.TRACE_MDC_KEY, "true");
+    }
+
+    @Test
+    void doFilter_shouldPassRequestOn_whenStallIdExceedsLongRange() throws Exception {
+        // Given
+        logTraceService.enable(42L, null, Duration.ofMinutes(5));
+
+        // When
+        Map<String, String> mdc = perform("/api/stalls/99999999999999999999999");
+
+        // Then
+        assertThat(mdc).isNotNull().doesNotContainKey(LogSamplingTurboFilter.TRACE_MDC_KEY);
+    }
+
+    // Returns the MDC seen by the rest of the chain, or null when the chain was not reached
+    private Map<String, String> perform(String uri) throws Exception {
+        AtomicReference<Map<String, String>> seen = new AtomicReference<>();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), new MockHttpServletResponse(),
+                (request, response) -> seen.set(new HashMap<>(MDC.getCopyOfContextMap())));
+        return seen.get();
+    }
+}
@@ -0,0 +1,42 @@
+package com.exhibitflow.stall.config;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fileSpanExporter_shouldWriteFinishedSpansAsJsonLines() throws Exception {
+        // Given
+        TracingProperties properties = new TracingProperties();
+        properties.setFile(tempDir.resolve("traces.jsonl").toString());
+        SpanExporter exporter = new TracingConfig(properties).fileSpanExporter();
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+
+        // When
+        Span span = tracerProvider.get("test").spanBuilder("holdStall").startSpan();
+        span.end();
+        tracerProvider.shutdown().join(5, java.util.concurrent.TimeUnit.SECONDS);
+
+        // Then
+        List<String> lines = Files.readAllLines(tempDir.resolve("traces.jsonl.0"));
+        assertThat(lines).singleElement().asString()
+                .contains("\"name\":\"holdStall\"")
+                .contains(span.getSpanContext().getTraceId());
+    }
+}
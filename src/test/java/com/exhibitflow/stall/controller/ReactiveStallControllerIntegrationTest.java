@@ -0,0 +1,137 @@
+package com.exhibitflow.stall.controller;
+
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallLocation;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.StallRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the R2DBC pool only sees committed rows
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb",
+        "stall.reactive.enabled=true",
+        "stall.reactive.url=r2dbc:h2:mem:///reactivedb",
+        "stall.reactive.username=sa",
+        "stall.reactive.password="
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "no-broker"})
+class ReactiveStallControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @BeforeEach
+    void setUp() {
+        stallRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldStreamFilteredStallsAsNdjson() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.SMALL, "Hall A - Wing 1", "300.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-002", StallSize.MEDIUM, "Hall A - Wing 1", "500.00", StallStatus.HELD));
+        stallRepository.save(createTestStall("B-001", StallSize.LARGE, "Hall B - Wing 2", "800.00", StallStatus.AVAILABLE));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/stalls")
+                        .param("status", "AVAILABLE")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines())
+                .hasSize(2)
+                .anySatisfy(line -> assertThat(line).contains("\"code\":\"A-001\"", "\"hall\":\"Hall A\""))
+                .anySatisfy(line -> assertThat(line).contains("\"code\":\"B-001\""));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldReturnRequestedPage() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.SMALL, "Hall A", "300.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-002", StallSize.SMALL, "Hall A", "300.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-003", StallSize.SMALL, "Hall A", "300.00", StallStatus.AVAILABLE));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/stalls")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sort", "code,desc")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].code").value("A-001"));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStallByCode_shouldReturnStall() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/stalls/code/{code}", "A-001")).andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("A-001"))
+                .andExpect(jsonPath("$.price").value(500.00));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStallById_shouldReturn404_whenNotFound() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/stalls/{id}", 999L)).andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Stall not found with id: 999"));
+    }
+
+    private Stall createTestStall(String code, StallSize size, String location, String price, StallStatus status) {
+        Stall stall = Stall.builder()
+                .eventId(1L)
+                .code(code)
+                .size(size)
+                .location(location)
+                .price(new BigDecimal(price))
+                .status(status)
+                .build();
+        stall.applyLocation(StallLocation.parse(location));
+        return stall;
+    }
+}
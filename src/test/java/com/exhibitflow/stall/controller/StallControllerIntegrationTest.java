@@ -3,6 +3,7 @@ package com.exhibitflow.stall.controller;
 import com.exhibitflow.stall.dto.CreateStallRequest;
 import com.exhibitflow.stall.dto.UpdateStallRequest;
 import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallLocation;
 import com.exhibitflow.stall.model.StallSize;
 import com.exhibitflow.stall.model.StallStatus;
 import com.exhibitflow.stall.repository.StallRepository;
@@ -21,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -79,6 +81,200 @@ class StallControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].code").value("A-001"));
     }
 
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldFilterByPriceRange_andSortByPrice() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-002", StallSize.MEDIUM, "Hall A", "750.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-003", StallSize.MEDIUM, "Hall B", "650.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-004", StallSize.LARGE, "Hall B", "600.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-005", StallSize.MEDIUM, "Hall B", "1200.00", StallStatus.AVAILABLE));
+
+        // When/Then
+        mockMvc.perform(get("/api/stalls")
+                        .param("status", "AVAILABLE")
+                        .param("stallSize", "MEDIUM")
+                        .param("minPrice", "500")
+                        .param("maxPrice", "750")
+                        .param("sort", "price,desc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].code").value("A-002"))
+                .andExpect(jsonPath("$.content[1].code").value("A-003"))
+                .andExpect(jsonPath("$.content[2].code").value("A-001"));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldReturn400_whenMinPriceExceedsMaxPrice() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/stalls")
+                        .param("minPrice", "800")
+                        .param("maxPrice", "500")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldReuseCachedTotal_whenTotalsApproximate() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-002", StallSize.MEDIUM, "Hall A", "550.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-003", StallSize.MEDIUM, "Hall A", "600.00", StallStatus.AVAILABLE));
+        mockMvc.perform(get("/api/stalls")
+                        .param("stallSize", "MEDIUM")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .param("totals", "APPROXIMATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalsApproximate").value(false));
+        stallRepository.save(createTestStall("A-004", StallSize.MEDIUM, "Hall A", "650.00", StallStatus.AVAILABLE));
+
+        // When/Then
+        mockMvc.perform(get("/api/stalls")
+                        .param("stallSize", "MEDIUM")
+                        .param("page", "2")
+                        .param("size", "1")
+                        .param("totals", "APPROXIMATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].code").value("A-003"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalsApproximate").value(true));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldOmitTotals_whenTotalsNone() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-002", StallSize.MEDIUM, "Hall A", "550.00", StallStatus.AVAILABLE));
+
+        // When/Then
+        mockMvc.perform(get("/api/stalls")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .param("totals", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].code").value("A-002"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalsApproximate").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldOnlyReturnStallsOfRequestedEvent() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        Stall otherEvent = createTestStall("A-001", StallSize.LARGE, "Hall B", "750.00", StallStatus.AVAILABLE);
+        otherEvent.setEventId(2L);
+        stallRepository.save(otherEvent);
+
+        // When/Then
+        mockMvc.perform(get("/api/events/{eventId}/stalls", 2L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].eventId").value(2))
+                .andExpect(jsonPath("$.content[0].size").value("LARGE"));
+
+        mockMvc.perform(get("/api/stalls")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].eventId").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getFloorPlan_shouldReturnStallsOfHallAndWing() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("B-001", StallSize.SMALL, "Hall B - East Wing, Row 1", "450.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("B-004", StallSize.SMALL, "Hall B - West Wing, Row 1", "475.00", StallStatus.HELD));
+        stallRepository.save(createTestStall("A-001", StallSize.SMALL, "Hall A - North Wing, Row 1", "500.00", StallStatus.AVAILABLE));
+
+        // When/Then
+        mockMvc.perform(get("/api/stalls/halls/{hall}", "Hall B")
+                        .param("wing", "East Wing")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].code").value("B-001"))
+                .andExpect(jsonPath("$[0].row").value("Row 1"));
+
+        mockMvc.perform(get("/api/stalls/halls")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].hall").value("Hall B"))
+                .andExpect(jsonPath("$[1].totalStalls").value(2))
+                .andExpect(jsonPath("$[1].availableStalls").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getChanges_shouldPageThroughChanges_withWatermark() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-002", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-003", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+
+        // When
+        String first = mockMvc.perform(get("/api/stalls/changes").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].code").value("A-001"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String watermark = objectMapper.readTree(first).get("watermark").asText();
+
+        // Then
+        String second = mockMvc.perform(get("/api/stalls/changes").param("since", watermark).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].code").value("A-003"))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString();
+        String latest = objectMapper.readTree(second).get("watermark").asText();
+        mockMvc.perform(get("/api/stalls/changes").param("since", latest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.watermark").value(latest));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getChanges_shouldReturn400_whenWatermarkIsInvalid() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/stalls/changes").param("since", "not-a-watermark"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void quoteStalls_shouldPriceFoundStalls_andListMissingIds() throws Exception {
+        // Given
+        Stall first = stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        Stall second = stallRepository.save(createTestStall("A-002", StallSize.LARGE, "Hall B", "750.00", StallStatus.HELD));
+
+        // When/Then: no pricing rules are configured for tests, so effective equals base price
+        mockMvc.perform(post("/api/stalls/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stallIds\":[" + second.getId() + "," + first.getId() + ",999999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(2))
+                .andExpect(jsonPath("$.lines", hasSize(2)))
+                .andExpect(jsonPath("$.lines[0].code").value("A-002"))
+                .andExpect(jsonPath("$.lines[0].effectivePrice").value(750.00))
+                .andExpect(jsonPath("$.missingIds[0]").value(999999))
+                .andExpect(jsonPath("$.total").value(1250.00));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getStallById_shouldReturnStall_withAdminRole() throws Exception {
@@ -94,6 +290,26 @@ class StallControllerIntegrationTest {
                 .andExpect(jsonPath("$.size").value("MEDIUM"));
     }
 
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStallsBatch_shouldResolveIdsAndCodes_andListMissingKeys() throws Exception {
+        // Given
+        Stall first = stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.AVAILABLE));
+        stallRepository.save(createTestStall("A-002", StallSize.LARGE, "Hall B", "750.00", StallStatus.HELD));
+
+        // When/Then
+        mockMvc.perform(get("/api/stalls/batch")
+                        .param("ids", first.getId() + ",999999")
+                        .param("codes", "A-002,Z-999")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byId['" + first.getId() + "'].code").value("A-001"))
+                .andExpect(jsonPath("$.byCode['A-002'].status").value("HELD"))
+                .andExpect(jsonPath("$.missingIds", hasSize(1)))
+                .andExpect(jsonPath("$.missingIds[0]").value(999999))
+                .andExpect(jsonPath("$.missingCodes[0]").value("Z-999"));
+    }
+
     @Test
     @WithMockUser
     void getStallById_shouldReturn404_whenNotFound() throws Exception {
@@ -125,6 +341,35 @@ class StallControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("AVAILABLE"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createStall_shouldReplayResponse_whenIdempotencyKeyRepeated() throws Exception {
+        // Given
+        CreateStallRequest request = CreateStallRequest.builder()
+                .code("B-002")
+                .size(StallSize.LARGE)
+                .location("Hall B")
+                .price(new BigDecimal("750.00"))
+                .build();
+        String body = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/stalls")
+                        .header("Idempotency-Key", "create-b-002")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        // When/Then
+        mockMvc.perform(post("/api/stalls")
+                        .header("Idempotency-Key", "create-b-002")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.code").value("B-002"));
+        assertThat(stallRepository.count()).isEqualTo(1);
+    }
+
     @Test
     @WithMockUser(roles = "VIEWER")
     void createStall_shouldReturn403_withViewerRole() throws Exception {
@@ -296,6 +541,14 @@ class StallControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("AVAILABLE"));
     }
 
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStallById_shouldReturn400_whenIdExceedsLongRange() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/stalls/{id}", "99999999999999999999999"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "MANAGER")
     void reserveStall_shouldChangeStatusToReserved_withManagerRole() throws Exception {
@@ -324,6 +577,45 @@ class StallControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Cannot reserve stall with status: AVAILABLE. Only HELD stalls can be reserved."));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteStall_shouldHideStall_andReportTombstoneInChangeFeed() throws Exception {
+        // Given
+        Stall saved = stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.HELD));
+
+        // When
+        mockMvc.perform(delete("/api/stalls/{id}", saved.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/stalls/{id}", saved.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/stalls"))
+                .andExpect(jsonPath("$.content", hasSize(0)));
+        mockMvc.perform(get("/api/stalls/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].code").value("A-001"))
+                .andExpect(jsonPath("$.changes[0].deletedAt").isNotEmpty());
+        // The code of a deleted stall can be reused
+        mockMvc.perform(post("/api/stalls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\":\"A-001\",\"size\":\"SMALL\",\"location\":\"Hall B\",\"price\":300.00}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteStall_shouldReturn400_whenReserved() throws Exception {
+        // Given
+        Stall saved = stallRepository.save(createTestStall("A-001", StallSize.MEDIUM, "Hall A", "500.00", StallStatus.RESERVED));
+
+        // When/Then
+        mockMvc.perform(delete("/api/stalls/{id}", saved.getId()))
+                .andExpect(status().isBadRequest());
+        assertThat(stallRepository.findById(saved.getId())).isPresent();
+    }
+
     @Test
     void getStalls_shouldReturn401_whenNoAuthentication() throws Exception {
         // When/Then
@@ -333,12 +625,15 @@ class StallControllerIntegrationTest {
     }
 
     private Stall createTestStall(String code, StallSize size, String location, String price, StallStatus status) {
-        return Stall.builder()
+        Stall stall = Stall.builder()
+                .eventId(1L)
                 .code(code)
                 .size(size)
                 .location(location)
                 .price(new BigDecimal(price))
                 .status(status)
                 .build();
+        stall.applyLocation(StallLocation.parse(location));
+        return stall;
     }
 }
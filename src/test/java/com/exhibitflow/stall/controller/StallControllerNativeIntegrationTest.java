@@ -0,0 +1,158 @@
+package com.exhibitflow.stall.controller;
+
+import com.exhibitflow.stall.event.RecordingStallEventPublisher;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallLocation;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.StallRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Stall endpoints and the events they publish, without a Kafka broker.
+ *
+ * <p>{@link StallControllerIntegrationTest} needs @EmbeddedKafka, which cannot run ahead of time,
+ * so this class is the controller coverage for mvn -PnativeTest. It runs on the JVM as well.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "no-broker"})
+@Import(RecordingStallEventPublisher.Config.class)
+@Transactional
+class StallControllerNativeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @Autowired
+    private RecordingStallEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        stallRepository.deleteAll();
+        eventPublisher.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getStalls_shouldReturnPagedStalls_withViewerRole() throws Exception {
+        // Given
+        stallRepository.save(createTestStall("A-001", StallStatus.AVAILABLE));
+
+        // When/Then
+        mockMvc.perform(get("/api/stalls"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].code").value("A-001"))
+                .andExpect(jsonPath("$.content[0].hall").value("Hall A"));
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void releaseStall_shouldPublishReleasedEvent() throws Exception {
+        // Given
+        Stall saved = stallRepository.save(createTestStall("A-001", StallStatus.HELD));
+
+        // When
+        mockMvc.perform(post("/api/stalls/{id}/release", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("AVAILABLE"));
+
+        // Then
+        assertThat(eventPublisher.getReleased()).singleElement()
+                .satisfies(event -> assertThat(event.getStallId()).isEqualTo(saved.getId()));
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void reserveStall_shouldPublishReservedEvent() throws Exception {
+        // Given
+        Stall saved = stallRepository.save(createTestStall("A-001", StallStatus.HELD));
+
+        // When
+        mockMvc.perform(post("/api/stalls/{id}/reserve", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RESERVED"));
+
+        // Then
+        assertThat(eventPublisher.getReserved()).singleElement()
+                .satisfies(event -> assertThat(event.getCode()).isEqualTo("A-001"));
+    }
+
+    @Test
+    void holdStall_shouldQueueCaller_andHoldForThemOnRelease() throws Exception {
+        // Given
+        Stall saved = stallRepository.save(createTestStall("A-001", StallStatus.AVAILABLE));
+        mockMvc.perform(post("/api/stalls/{id}/hold", saved.getId())
+                        .param("queue", "true")
+                        .with(user("manager-1").roles("MANAGER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("HELD"));
+
+        // When: a second manager queues for the held stall
+        mockMvc.perform(post("/api/stalls/{id}/hold", saved.getId())
+                        .param("queue", "true")
+                        .with(user("manager-2").roles("MANAGER")))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.username").value("manager-2"))
+                .andExpect(jsonPath("$.position").value(1));
+
+        // Then: releasing hands the stall to the waiter
+        String released = mockMvc.perform(post("/api/stalls/{id}/release", saved.getId())
+                        .with(user("manager-1").roles("MANAGER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("HELD"))
+                .andReturn().getResponse().getContentAsString();
+
+        // The response carries the version of the hold, not of the intermediate release
+        assertThat(objectMapper.readTree(released).get("version").asLong())
+                .isEqualTo(stallRepository.findById(saved.getId()).orElseThrow().getVersion());
+
+        assertThat(eventPublisher.getReleased()).isEmpty();
+        assertThat(eventPublisher.getOffered()).singleElement()
+                .satisfies(event -> assertThat(event.getHeldFor()).isEqualTo("manager-2"));
+        mockMvc.perform(get("/api/stalls/{id}/waiters", saved.getId())
+                        .with(user("manager-1").roles("MANAGER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private Stall createTestStall(String code, StallStatus status) {
+        Stall stall = Stall.builder()
+                .eventId(1L)
+                .code(code)
+                .size(StallSize.MEDIUM)
+                .location("Hall A")
+                .price(new BigDecimal("500.00"))
+                .status(status)
+                .build();
+        stall.applyLocation(StallLocation.parse("Hall A"));
+        return stall;
+    }
+}
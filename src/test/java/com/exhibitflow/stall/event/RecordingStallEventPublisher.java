@@ -0,0 +1,69 @@
+package com.exhibitflow.stall.event;
+
+import com.exhibitflow.stall.dto.StallEventDto;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps published stall events in memory instead of sending them to Kafka.
+ *
+ * <p>Lets integration tests run without a broker, which is required for AOT and native test runs
+ * where @EmbeddedKafka is not supported.
+ */
+public class RecordingStallEventPublisher extends StallEventPublisher {
+
+    private final List<StallEventDto> reserved = new CopyOnWriteArrayList<>();
+    private final List<StallEventDto> released = new CopyOnWriteArrayList<>();
+    private final List<StallEventDto> offered = new CopyOnWriteArrayList<>();
+
+    public RecordingStallEventPublisher() {
+        super(null);
+    }
+
+    @Override
+    public void publishStallReserved(StallEventDto event) {
+        reserved.add(event);
+    }
+
+    @Override
+    public void publishStallReleased(StallEventDto event) {
+        released.add(event);
+    }
+
+    @Override
+    public void publishStallOffered(StallEventDto event) {
+        offered.add(event);
+    }
+
+    public List<StallEventDto> getReserved() {
+        return reserved;
+    }
+
+    public List<StallEventDto> getReleased() {
+        return released;
+    }
+
+    public List<StallEventDto> getOffered() {
+        return offered;
+    }
+
+    public void clear() {
+        reserved.clear();
+        released.clear();
+        offered.clear();
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        @Primary
+        public RecordingStallEventPublisher recordingStallEventPublisher() {
+            return new RecordingStallEventPublisher();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.exhibitflow.stall.event;
+
+import com.exhibitflow.stall.config.InvalidationProperties;
+import com.exhibitflow.stall.dto.CreateStallRequest;
+import com.exhibitflow.stall.dto.StallInvalidationDto;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.StallRepository;
+import com.exhibitflow.stall.service.StallReadModel;
+import com.exhibitflow.stall.service.StallService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:invalidationdb",
+        "stall.read-model.enabled=true",
+        // Only invalidation messages bring other instances' writes in during the test
+        "stall.read-model.refresh-interval=PT1H",
+        "stall.invalidation.enabled=true",
+        "stall.invalidation.instance-id=test-instance",
+        "stall.invalidation.partitions=1"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1)
+@Import(RecordingStallEventPublisher.Config.class)
+@DisabledInNativeImage
+class StallInvalidationIntegrationTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private StallReadModel readModel;
+
+    @Autowired
+    private StallService stallService;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @Autowired
+    private KafkaTemplate<String, StallInvalidationDto> kafkaTemplate;
+
+    @Autowired
+    private InvalidationProperties properties;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        stallRepository.deleteAll();
+        readModel.rebuild();
+        // Listeners start at the latest offset; wait until they have one
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            ContainerTestUtils.waitForAssignment(container, 1);
+        }
+    }
+
+    @Test
+    void onInvalidation_shouldRefreshReadModel_whenAnotherInstanceChangedStall() {
+        // Given: written straight to the table, as another instance would
+        Stall stall = stallRepository.save(Stall.builder()
+                .eventId(EVENT_ID)
+                .code("D-001")
+                .size(StallSize.MEDIUM)
+                .location("Hall D")
+                .price(new BigDecimal("500.00"))
+                .status(StallStatus.AVAILABLE)
+                .build());
+        assertThat(available()).isEmpty();
+
+        // When
+        kafkaTemplate.send(properties.getTopic(), stall.getId().toString(), StallInvalidationDto.builder()
+                .stallId(stall.getId())
+                .eventId(EVENT_ID)
+                .version(stall.getVersion())
+                .origin("other-instance")
+                .build());
+
+        // Then
+        await().atMost(TIMEOUT).untilAsserted(() ->
+                assertThat(available()).extracting(StallResponse::getCode).containsExactly("D-001"));
+    }
+
+    @Test
+    void holdStall_shouldPublishInvalidationWithNewVersion() {
+        // Given
+        StallResponse created = stallService.createStall(EVENT_ID, CreateStallRequest.builder()
+                .code("E-001")
+                .size(StallSize.SMALL)
+                .location("Hall E")
+                .price(new BigDecimal("300.00"))
+                .build());
+
+        // When
+        StallResponse held = stallService.holdStall(EVENT_ID, created.getId());
+
+        // Then
+        assertThat(held.getVersion()).isGreaterThan(created.getVersion());
+        List<StallInvalidationDto> received = new ArrayList<>();
+        try (Consumer<String, StallInvalidationDto> consumer = consumer()) {
+            await().atMost(TIMEOUT).untilAsserted(() -> {
+                for (ConsumerRecord<String, StallInvalidationDto> record
+                        : KafkaTestUtils.getRecords(consumer, Duration.ofMillis(200))) {
+                    received.add(record.value());
+                }
+                assertThat(received).anySatisfy(message -> {
+                    assertThat(message.getStallId()).isEqualTo(created.getId());
+                    assertThat(message.getVersion()).isEqualTo(held.getVersion());
+                    assertThat(message.getOrigin()).isEqualTo("test-instance");
+                });
+            });
+        }
+    }
+
+    private List<StallResponse> available() {
+        return stallService.getStalls(EVENT_ID, StallStatus.AVAILABLE, null, null, null, null, PageRequest.of(0, 10))
+                .getContent();
+    }
+
+    private Consumer<String, StallInvalidationDto> consumer() {
+        Map<String, Object> consumerProperties = KafkaTestUtils.consumerProps("invalidation-test", "false", broker);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        Consumer<String, StallInvalidationDto> consumer = new DefaultKafkaConsumerFactory<>(consumerProperties,
+                new StringDeserializer(), new JsonDeserializer<>(StallInvalidationDto.class, false)).createConsumer();
+        consumer.subscribe(List.of(properties.getTopic()));
+        return consumer;
+    }
+}
@@ -0,0 +1,134 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.IdempotencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyProperties properties;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger invocations;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        idempotencyService = new IdempotencyService(properties, new ObjectMapper());
+        invocations = new AtomicInteger();
+    }
+
+    @Test
+    void execute_shouldRunActionEveryTime_whenNoKey() {
+        // When
+        idempotencyService.execute(null, "createStall", "body", this::created);
+        idempotencyService.execute(null, "createStall", "body", this::created);
+
+        // Then
+        assertThat(invocations.get()).isEqualTo(2);
+        assertThat(idempotencyService.size()).isZero();
+    }
+
+    @Test
+    void execute_shouldReplayStoredResponse_whenKeyRepeated() {
+        // When
+        ResponseEntity<String> first = idempotencyService.execute("key-1", "createStall", "body", this::created);
+        ResponseEntity<String> second = idempotencyService.execute("key-1", "createStall", "body", this::created);
+
+        // Then
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void execute_shouldThrowException_whenKeyReusedWithDifferentPayload() {
+        // Given
+        idempotencyService.execute("key-1", "createStall", "body", this::created);
+
+        // When/Then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "createStall", "other", this::created))
+                .isInstanceOf(InvalidIdempotencyKeyException.class)
+                .hasMessageContaining("already used with a different request");
+    }
+
+    @Test
+    void execute_shouldThrowException_whenDifferentPayloadHasSameHashCode() {
+        // Given - "Aa" and "BB" share a String.hashCode()
+        idempotencyService.execute("key-1", "createStall", "Aa", this::created);
+
+        // When/Then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "createStall", "BB", this::created))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        assertThat(invocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldRunActionAgain_whenRetryReachesAnotherInstance() {
+        // Given - keys are stored per instance, not shared
+        IdempotencyService otherInstance = new IdempotencyService(properties, new ObjectMapper());
+        idempotencyService.execute("key-1", "createStall", "body", this::created);
+
+        // When
+        ResponseEntity<String> retry = otherInstance.execute("key-1", "createStall", "body", this::created);
+
+        // Then
+        assertThat(invocations.get()).isEqualTo(2);
+        assertThat(retry.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void execute_shouldThrowException_whenKeyStillInProgress() {
+        // When/Then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "holdStall:1", null,
+                () -> idempotencyService.execute("key-1", "holdStall:1", null, this::created)))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    void execute_shouldNotStoreFailure_soRetryRunsAgain() {
+        // Given
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "holdStall:1", null, () -> {
+            throw new InvalidStallStatusException("Cannot hold stall");
+        })).isInstanceOf(InvalidStallStatusException.class);
+
+        // When
+        idempotencyService.execute("key-1", "holdStall:1", null, this::created);
+
+        // Then
+        assertThat(invocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldRejectKey_whenTooLong() {
+        // When/Then
+        assertThatThrownBy(() -> idempotencyService.execute("k".repeat(256), "createStall", "body", this::created))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    @Test
+    void evictExpired_shouldDropEntriesPastTtl() {
+        // Given
+        properties.setTtl(Duration.ZERO);
+        idempotencyService.execute("key-1", "createStall", "body", this::created);
+
+        // When
+        idempotencyService.evictExpired();
+
+        // Then
+        assertThat(idempotencyService.size()).isZero();
+    }
+
+    private ResponseEntity<String> created() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("stall-" + invocations.incrementAndGet());
+    }
+}
@@ -0,0 +1,132 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.PricingProperties;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 2, 1, 12, 0);
+
+    private PricingProperties properties;
+    private StallResponse cornerStall;
+    private StallResponse aisleStall;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PricingProperties();
+        properties.setRules(List.of(
+                rule("early-bird", null, NOW.plusDays(1), 1, "-10", null),
+                rule("corner-premium", "(?i)corner", null, 1, "15", null),
+                rule("bulk-5", null, null, 5, null, "-50")));
+        cornerStall = stall(1L, "Hall A - Corner, Row 1", "1000.00");
+        aisleStall = stall(2L, "Hall A - Aisle, Row 2", "1000.00");
+    }
+
+    @Test
+    void quote_shouldCompoundMatchingRulesInOrder() {
+        // Given
+        PricingEngine engine = new PricingEngine(properties);
+
+        // When
+        PricingEngine.PriceQuote quote = engine.quote(cornerStall, 1, NOW);
+
+        // Then: 1000 * 0.9 * 1.15
+        assertThat(quote.effectivePrice()).isEqualByComparingTo("1035.00");
+        assertThat(quote.appliedRules()).containsExactly("early-bird", "corner-premium");
+    }
+
+    @Test
+    void quote_shouldApplyBulkRule_onlyFromMinimumQuantity() {
+        // Given
+        PricingEngine engine = new PricingEngine(properties);
+
+        // When
+        PricingEngine.PriceQuote single = engine.quote(aisleStall, 4, NOW);
+        PricingEngine.PriceQuote bulk = engine.quote(aisleStall, 5, NOW);
+
+        // Then
+        assertThat(single.effectivePrice()).isEqualByComparingTo("900.00");
+        assertThat(bulk.effectivePrice()).isEqualByComparingTo("850.00");
+        assertThat(bulk.appliedRules()).containsExactly("early-bird", "bulk-5");
+    }
+
+    @Test
+    void quote_shouldSkipRules_outsideTheirValidityPeriod() {
+        // Given
+        PricingEngine engine = new PricingEngine(properties);
+
+        // When
+        PricingEngine.PriceQuote quote = engine.quote(aisleStall, 1, NOW.plusDays(2));
+
+        // Then
+        assertThat(quote.effectivePrice()).isEqualByComparingTo("1000.00");
+        assertThat(quote.appliedRules()).isEmpty();
+    }
+
+    @Test
+    void quote_shouldUseNewRules_whenPropertiesAreRebound() {
+        // Given
+        PricingEngine engine = new PricingEngine(properties);
+        engine.quote(aisleStall, 1, NOW);
+
+        // When
+        properties.setRules(List.of(rule("large-only", null, null, 1, "20", null)));
+        properties.getRules().get(0).setSizes(Set.of(StallSize.LARGE));
+
+        // Then
+        assertThat(engine.quote(aisleStall, 1, NOW).appliedRules()).isEmpty();
+        aisleStall.setSize(StallSize.LARGE);
+        assertThat(engine.quote(aisleStall, 1, NOW).effectivePrice()).isEqualByComparingTo("1200.00");
+    }
+
+    @Test
+    void constructor_shouldRejectRule_endingBeforeItStarts() {
+        // Given
+        properties.setRules(List.of(rule("broken", null, NOW, 1, "-10", null)));
+        properties.getRules().get(0).setValidFrom(NOW.plusDays(1));
+
+        // When/Then
+        assertThatThrownBy(() -> new PricingEngine(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("broken");
+    }
+
+    private static PricingProperties.Rule rule(String name, String locationPattern, LocalDateTime validUntil,
+                                               int minQuantity, String percent, String amount) {
+        PricingProperties.Rule rule = new PricingProperties.Rule();
+        rule.setName(name);
+        rule.setLocationPattern(locationPattern);
+        rule.setValidUntil(validUntil);
+        rule.setMinQuantity(minQuantity);
+        if (percent != null) {
+            rule.setPercent(new BigDecimal(percent));
+        }
+        if (amount != null) {
+            rule.setAmount(new BigDecimal(amount));
+        }
+        return rule;
+    }
+
+    private static StallResponse stall(Long id, String location, String price) {
+        return StallResponse.builder()
+                .id(id)
+                .eventId(1L)
+                .size(StallSize.MEDIUM)
+                .status(StallStatus.AVAILABLE)
+                .location(location)
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
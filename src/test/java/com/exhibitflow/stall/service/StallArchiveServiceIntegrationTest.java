@@ -0,0 +1,113 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.dto.EventArchiveResponse;
+import com.exhibitflow.stall.event.RecordingStallEventPublisher;
+import com.exhibitflow.stall.model.ExhibitionEvent;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.ArchivedStallRepository;
+import com.exhibitflow.stall.repository.ExhibitionEventRepository;
+import com.exhibitflow.stall.repository.StallRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb",
+        "stall.archive.batch-size=2"
+})
+@ActiveProfiles({"test", "no-broker"})
+@Import(RecordingStallEventPublisher.Config.class)
+class StallArchiveServiceIntegrationTest {
+
+    @Autowired
+    private StallArchiveService archiveService;
+
+    @Autowired
+    private StallService stallService;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @Autowired
+    private ArchivedStallRepository archivedStallRepository;
+
+    @Autowired
+    private ExhibitionEventRepository eventRepository;
+
+    @Test
+    void archiveEvent_shouldMoveLiveAndDeletedStallsInBatches() {
+        // Given
+        event(10L, LocalDateTime.now().minusDays(1));
+        event(11L, LocalDateTime.now().minusDays(1));
+        stallRepository.save(stall(10L, "A-001"));
+        stallRepository.save(stall(10L, "A-002"));
+        Stall deleted = stallRepository.save(stall(10L, "A-003"));
+        stallService.deleteStall(10L, deleted.getId());
+        Stall other = stallRepository.save(stall(11L, "A-001"));
+
+        // When
+        EventArchiveResponse result = archiveService.archiveEvent(10L);
+
+        // Then
+        assertThat(result.getArchivedStalls()).isEqualTo(3);
+        assertThat(result.getBatches()).isEqualTo(2);
+        assertThat(archivedStallRepository.countByEventId(10L)).isEqualTo(3);
+        assertThat(stallRepository.findIdsToArchive(10L, 10)).isEmpty();
+        assertThat(stallRepository.findById(other.getId())).isPresent();
+        assertThat(eventRepository.findById(10L).orElseThrow().getArchivedAt()).isEqualTo(result.getArchivedAt());
+        assertThat(eventRepository.findById(11L).orElseThrow().getArchivedAt()).isNull();
+    }
+
+    @Test
+    void archiveFinishedEvents_shouldOnlyArchiveEventsPastRetention() {
+        // Given: the default retention is 30 days
+        event(20L, LocalDateTime.now().minusDays(40));
+        event(21L, LocalDateTime.now().minusDays(1));
+        stallRepository.save(stall(20L, "B-001"));
+        Stall recent = stallRepository.save(stall(21L, "B-001"));
+
+        // When
+        archiveService.archiveFinishedEvents();
+
+        // Then
+        assertThat(archivedStallRepository.countByEventId(20L)).isEqualTo(1);
+        assertThat(eventRepository.findById(20L).orElseThrow().getArchivedAt()).isNotNull();
+        assertThat(stallRepository.findById(recent.getId())).isPresent();
+        assertThat(eventRepository.findById(21L).orElseThrow().getArchivedAt()).isNull();
+    }
+
+    @Test
+    void archiveEvent_shouldReject_whenEventHasNotEnded() {
+        // Given
+        event(30L, LocalDateTime.now().plusDays(1));
+
+        // When/Then
+        assertThatThrownBy(() -> archiveService.archiveEvent(30L))
+                .isInstanceOf(InvalidEventStateException.class);
+    }
+
+    private void event(Long id, LocalDateTime endsAt) {
+        eventRepository.save(ExhibitionEvent.builder().id(id).endsAt(endsAt).build());
+    }
+
+    private static Stall stall(Long eventId, String code) {
+        return Stall.builder()
+                .eventId(eventId)
+                .code(code)
+                .size(StallSize.MEDIUM)
+                .location("Hall A")
+                .price(new BigDecimal("500.00"))
+                .status(StallStatus.AVAILABLE)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.CountCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StallCountCacheTest {
+
+    private CountCacheProperties properties;
+    private StallCountCache countCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CountCacheProperties();
+        countCache = new StallCountCache(properties);
+    }
+
+    @Test
+    void getOrCount_shouldServeCachedTotal_forSameFilter() {
+        // Given
+        countCache.getOrCount(1L, "AVAILABLE", () -> 5);
+
+        // When
+        StallCountCache.CachedCount count = countCache.getOrCount(1L, "AVAILABLE", () -> 7);
+
+        // Then
+        assertThat(count.count()).isEqualTo(5);
+        assertThat(count.cached()).isTrue();
+    }
+
+    @Test
+    void evictEvent_shouldDropOnlyThatEventsTotals() {
+        // Given
+        countCache.getOrCount(1L, "AVAILABLE", () -> 5);
+        countCache.getOrCount(1L, "HELD", () -> 2);
+        countCache.getOrCount(2L, "AVAILABLE", () -> 9);
+
+        // When
+        countCache.evictEvent(1L);
+
+        // Then
+        assertThat(countCache.size()).isEqualTo(1);
+        assertThat(countCache.getOrCount(1L, "AVAILABLE", () -> 6).cached()).isFalse();
+        assertThat(countCache.getOrCount(2L, "AVAILABLE", () -> 10).count()).isEqualTo(9);
+    }
+
+    @Test
+    void getOrCount_shouldNotCache_whenFull() {
+        // Given
+        properties.setMaxEntries(1);
+        countCache.getOrCount(1L, "AVAILABLE", () -> 5);
+
+        // When
+        countCache.getOrCount(2L, "AVAILABLE", () -> 9);
+
+        // Then
+        assertThat(countCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictExpired_shouldDropTotalsPastTtl() {
+        // Given
+        properties.setTtl(Duration.ZERO);
+        countCache.getOrCount(1L, "AVAILABLE", () -> 5);
+
+        // When
+        countCache.evictExpired();
+
+        // Then
+        assertThat(countCache.size()).isZero();
+    }
+}
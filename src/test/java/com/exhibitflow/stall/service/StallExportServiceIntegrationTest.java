@@ -0,0 +1,180 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.dto.ExportMode;
+import com.exhibitflow.stall.dto.StallExportResponse;
+import com.exhibitflow.stall.event.RecordingStallEventPublisher;
+import com.exhibitflow.stall.model.InventoryLease;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.InventoryLeaseRepository;
+import com.exhibitflow.stall.repository.StallRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportdb",
+        "stall.export.overlap=PT0S"
+})
+@ActiveProfiles({"test", "no-broker"})
+@Import(RecordingStallEventPublisher.Config.class)
+// The @TempDir export directory only exists once JUnit runs the class, not at build time
+@DisabledInAotMode
+class StallExportServiceIntegrationTest {
+
+    @TempDir
+    static Path exportDirectory;
+
+    @DynamicPropertySource
+    static void exportProperties(DynamicPropertyRegistry registry) {
+        registry.add("stall.export.directory", exportDirectory::toString);
+    }
+
+    @Autowired
+    private StallExportService exportService;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @Autowired
+    private InventoryLeaseRepository leaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Exports include soft-deleted stalls, which deleteAll() does not see
+        jdbcTemplate.update("DELETE FROM stall");
+        leaseRepository.deleteAll();
+        try (Stream<Path> files = Files.list(exportDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void export_shouldWriteCompressedCsvOfAllStalls() throws IOException {
+        // Given
+        stallRepository.save(stall("A-001", "Hall A, Corner \"North\""));
+        stallRepository.save(stall("A-002", "Hall A"));
+
+        // When: without a previous export an incremental export is a full one
+        StallExportResponse result = exportService.export(ExportMode.INCREMENTAL);
+
+        // Then
+        assertThat(result.getMode()).isEqualTo(ExportMode.FULL);
+        assertThat(result.getRows()).isEqualTo(2);
+        assertThat(result.getRowsPerSecond()).isPositive();
+        List<String> lines = readLines(Path.of(result.getFile()));
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo(StallExportService.HEADER);
+        assertThat(lines.get(1)).contains(",A-001,MEDIUM,\"Hall A, Corner \"\"North\"\"\",");
+        assertThat(lines.get(2)).contains(",A-002,MEDIUM,Hall A,");
+    }
+
+    @Test
+    void export_shouldOnlyContainChangedStalls_whenIncremental() throws IOException {
+        // Given
+        Stall changed = stallRepository.save(stall("A-001", "Hall A"));
+        stallRepository.save(stall("A-002", "Hall A"));
+        exportService.export(ExportMode.FULL);
+        changed.setStatus(StallStatus.HELD);
+        stallRepository.save(changed);
+
+        // When
+        StallExportResponse result = exportService.export(ExportMode.INCREMENTAL);
+
+        // Then
+        assertThat(result.getMode()).isEqualTo(ExportMode.INCREMENTAL);
+        assertThat(result.getSince()).isNotNull();
+        assertThat(result.getRows()).isEqualTo(1);
+        assertThat(readLines(Path.of(result.getFile())).get(1)).contains(",A-001,").contains(",HELD,");
+    }
+
+    @Test
+    void export_shouldReportSoftDeletedStalls_whenIncremental() throws IOException {
+        // Given
+        Stall deleted = stallRepository.save(stall("A-001", "Hall A"));
+        stallRepository.save(stall("A-002", "Hall A"));
+        exportService.export(ExportMode.FULL);
+        deleted.setDeletedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        stallRepository.save(deleted);
+
+        // When
+        StallExportResponse result = exportService.export(ExportMode.INCREMENTAL);
+
+        // Then
+        assertThat(result.getRows()).isEqualTo(1);
+        String row = readLines(Path.of(result.getFile())).get(1);
+        assertThat(row).contains(",A-001,");
+        assertThat(row.substring(row.lastIndexOf(',') + 1)).isNotEmpty();
+    }
+
+    @Test
+    void scheduledExport_shouldSkipRun_whileAnotherInstanceHoldsExportLease() throws IOException {
+        // Given
+        stallRepository.save(stall("A-001", "Hall A"));
+        leaseRepository.save(new InventoryLease(StallExportService.LEASE_NAME, "other-node", LocalDateTime.now().plusMinutes(5)));
+
+        // When
+        exportService.scheduledExport();
+
+        // Then
+        try (Stream<Path> files = Files.list(exportDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void claimScheduledRun_shouldTakeOverExportLease_onceExpired() {
+        // Given
+        leaseRepository.save(new InventoryLease(StallExportService.LEASE_NAME, "other-node", LocalDateTime.now().minusMinutes(1)));
+
+        // When/Then
+        assertThat(exportService.claimScheduledRun()).isTrue();
+        assertThat(leaseRepository.findById(StallExportService.LEASE_NAME).orElseThrow().getExpiresAt())
+                .isAfter(LocalDateTime.now());
+    }
+
+    private static List<String> readLines(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private static Stall stall(String code, String location) {
+        return Stall.builder()
+                .eventId(1L)
+                .code(code)
+                .size(StallSize.MEDIUM)
+                .location(location)
+                .price(new BigDecimal("500.00"))
+                .status(StallStatus.AVAILABLE)
+                .build();
+    }
+}
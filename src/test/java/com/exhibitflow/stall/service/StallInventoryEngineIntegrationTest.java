@@ -0,0 +1,323 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.config.InventoryProperties;
+import com.exhibitflow.stall.config.WaitlistProperties;
+import com.exhibitflow.stall.dto.StallEventDto;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.event.RecordingStallEventPublisher;
+import com.exhibitflow.stall.model.InventoryLease;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.InventoryLeaseRepository;
+import com.exhibitflow.stall.repository.StallRepository;
+import com.exhibitflow.stall.repository.StallWaiterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not @Transactional: the engine flushes in its own transactions
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventorydb",
+        "stall.inventory.enabled=true",
+        "stall.inventory.owner-id=test-node",
+        "stall.inventory.lease-renew-interval=PT1H",
+        "stall.inventory.flush-interval=PT1H",
+        "stall.read-model.enabled=true",
+        "stall.read-model.refresh-interval=PT1H"
+})
+@ActiveProfiles({"test", "no-broker"})
+@Import(RecordingStallEventPublisher.Config.class)
+class StallInventoryEngineIntegrationTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Autowired
+    private StallInventoryEngine engine;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @Autowired
+    private InventoryLeaseRepository leaseRepository;
+
+    @Autowired
+    private RecordingStallEventPublisher eventPublisher;
+
+    @Autowired
+    private StallWaiterRepository waiterRepository;
+
+    @Autowired
+    private StallWaitlistService waitlistService;
+
+    @Autowired
+    private StallReadModel readModel;
+
+    @Autowired
+    private InventoryProperties properties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WaitlistProperties waitlistProperties;
+
+    private Stall stall;
+
+    @BeforeEach
+    void setUp() {
+        stallRepository.deleteAll();
+        leaseRepository.deleteAll();
+        waiterRepository.deleteAll();
+        eventPublisher.clear();
+        stall = stallRepository.save(Stall.builder()
+                .eventId(EVENT_ID)
+                .code("P-001")
+                .size(StallSize.LARGE)
+                .location("Hall A - North Wing, Row 1")
+                .price(new BigDecimal("2500.00"))
+                .status(StallStatus.AVAILABLE)
+                .build());
+        engine.maintainLease();
+    }
+
+    @Test
+    void reserveStall_shouldApplyConcurrentReservationsOnce() throws Exception {
+        // Given
+        engine.holdStall(EVENT_ID, stall.getId());
+        int callers = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Callable<StallStatus>> reservations = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            reservations.add(() -> engine.reserveStall(EVENT_ID, stall.getId()).getStatus());
+        }
+
+        // When: one compare-and-set wins, the others see RESERVED and return it idempotently
+        List<Future<StallStatus>> results = executor.invokeAll(reservations);
+        executor.shutdown();
+
+        // Then
+        for (Future<StallStatus> result : results) {
+            assertThat(result.get()).isEqualTo(StallStatus.RESERVED);
+        }
+        assertThat(stallRepository.findById(stall.getId()).orElseThrow().getStatus()).isEqualTo(StallStatus.AVAILABLE);
+        engine.flush();
+        assertThat(stallRepository.findById(stall.getId()).orElseThrow().getStatus()).isEqualTo(StallStatus.RESERVED);
+        assertThat(eventPublisher.getReserved()).hasSize(1);
+    }
+
+    @Test
+    void reserveStall_shouldPublishEvent_onlyAfterFlush() {
+        // Given
+        engine.holdStall(EVENT_ID, stall.getId());
+
+        // When
+        engine.reserveStall(EVENT_ID, stall.getId());
+
+        // Then
+        assertThat(eventPublisher.getReserved()).isEmpty();
+        engine.flush();
+        assertThat(eventPublisher.getReserved()).hasSize(1);
+        assertThat(eventPublisher.getReserved().get(0).getCode()).isEqualTo("P-001");
+        assertThat(stallRepository.findById(stall.getId()).orElseThrow().getStatus()).isEqualTo(StallStatus.RESERVED);
+    }
+
+    @Test
+    void releaseStall_shouldHoldForOldestWaiter_andNotifyAfterFlush() {
+        // Given
+        engine.holdStall(EVENT_ID, stall.getId());
+        waitlistService.join(EVENT_ID, stall.getId(), "manager-2");
+
+        // When
+        StallResponse released = engine.releaseStall(EVENT_ID, stall.getId());
+
+        // Then
+        assertThat(released.getStatus()).isEqualTo(StallStatus.HELD);
+        assertThat(engine.holdIfAvailable(EVENT_ID, stall.getId())).isEmpty();
+        assertThat(eventPublisher.getOffered()).isEmpty();
+        engine.flush();
+        assertThat(eventPublisher.getReleased()).hasSize(1);
+        assertThat(eventPublisher.getOffered()).singleElement()
+                .satisfies(event -> assertThat(event.getHeldFor()).isEqualTo("manager-2"));
+        assertThat(waitlistService.getWaiters(EVENT_ID, stall.getId())).isEmpty();
+    }
+
+    @Test
+    void releaseStall_shouldOfferToWaitersInQueueOrder_whenReleasedConcurrently() throws Exception {
+        // Given
+        engine.holdStall(EVENT_ID, stall.getId());
+        waitlistService.join(EVENT_ID, stall.getId(), "manager-2");
+        waitlistService.join(EVENT_ID, stall.getId(), "manager-3");
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Callable<StallResponse>> releases = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            releases.add(() -> engine.releaseStall(EVENT_ID, stall.getId()));
+        }
+
+        // When: only a release that moves the stall to AVAILABLE offers it to the next waiter
+        for (Future<StallResponse> result : executor.invokeAll(releases)) {
+            result.get();
+        }
+        executor.shutdown();
+
+        // Then
+        engine.flush();
+        List<String> offeredTo = eventPublisher.getOffered().stream()
+                .map(StallEventDto::getHeldFor)
+                .toList();
+        assertThat(offeredTo).isNotEmpty();
+        assertThat(List.of("manager-2", "manager-3")).startsWith(offeredTo.toArray(String[]::new));
+    }
+
+    @Test
+    void join_shouldNotExceedMaxWaiters_whenJoinedConcurrently() throws Exception {
+        // Given
+        int maxWaiters = waitlistProperties.getMaxWaitersPerStall();
+        waitlistProperties.setMaxWaitersPerStall(3);
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Callable<Boolean>> joins = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String username = "manager-" + i;
+            joins.add(() -> {
+                try {
+                    waitlistService.join(EVENT_ID, stall.getId(), username);
+                    return true;
+                } catch (WaitlistFullException e) {
+                    return false;
+                }
+            });
+        }
+
+        // When
+        int joined = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(joins)) {
+                joined += result.get() ? 1 : 0;
+            }
+        } finally {
+            executor.shutdown();
+            waitlistProperties.setMaxWaitersPerStall(maxWaiters);
+        }
+
+        // Then
+        assertThat(joined).isEqualTo(3);
+        assertThat(waiterRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void flush_shouldApplyWrittenVersionsToReadModel() {
+        // Given
+        readModel.rebuild();
+        engine.holdStall(EVENT_ID, stall.getId());
+
+        // When
+        engine.flush();
+
+        // Then: applied from the flushed batch, without a catch-up
+        Long version = stallRepository.findById(stall.getId()).orElseThrow().getVersion();
+        assertThat(version).isGreaterThan(stall.getVersion());
+        assertThat(readModel.find(EVENT_ID, StallStatus.HELD, null, null, null, null, Sort.unsorted()).orElseThrow())
+                .singleElement()
+                .satisfies(held -> assertThat(held.getVersion()).isEqualTo(version));
+    }
+
+    @Test
+    void reserveStall_shouldReject_whenStallIsAvailable() {
+        // When/Then
+        assertThatThrownBy(() -> engine.reserveStall(EVENT_ID, stall.getId()))
+                .isInstanceOf(InvalidStallStatusException.class)
+                .hasMessageContaining("Only HELD stalls can be reserved");
+    }
+
+    @Test
+    void holdStall_shouldRefuse_onceLeaseIsTooCloseToExpiry() {
+        // Given: a margin as long as the lease, so the deadline passes with the renewal
+        Duration margin = properties.getAckMargin();
+        properties.setAckMargin(properties.getLeaseTtl());
+        try {
+            engine.maintainLease();
+
+            // When/Then
+            assertThatThrownBy(() -> engine.holdStall(EVENT_ID, stall.getId()))
+                    .isInstanceOf(InventoryUnavailableException.class);
+        } finally {
+            properties.setAckMargin(margin);
+            engine.maintainLease();
+        }
+        assertThat(engine.holdStall(EVENT_ID, stall.getId()).getStatus()).isEqualTo(StallStatus.HELD);
+    }
+
+    @Test
+    void flush_shouldWriteAcknowledgedTransitions_whenLeaseExpiredButNotTakenOver() {
+        // Given
+        engine.holdStall(EVENT_ID, stall.getId());
+        leaseRepository.save(new InventoryLease(StallInventoryEngine.LEASE_NAME, "test-node",
+                LocalDateTime.now().minusMinutes(1)));
+
+        // When
+        engine.flush();
+
+        // Then
+        assertThat(stallRepository.findById(stall.getId()).orElseThrow().getStatus()).isEqualTo(StallStatus.HELD);
+    }
+
+    @Test
+    void createStall_shouldNotRegisterStall_whenTransactionRollsBack() {
+        // Given
+        Stall created = Stall.builder()
+                .eventId(EVENT_ID)
+                .code("P-002")
+                .size(StallSize.SMALL)
+                .location("Hall A")
+                .price(new BigDecimal("900.00"))
+                .status(StallStatus.AVAILABLE)
+                .build();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            engine.registerAfterCommit(stallRepository.save(created));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThatThrownBy(() -> engine.holdStall(EVENT_ID, created.getId()))
+                .isInstanceOf(StallNotFoundException.class);
+    }
+
+    @Test
+    void flush_shouldNotOverwriteNewOwnerAndStopServing_whenLeaseWasTakenOver() {
+        // Given
+        engine.holdStall(EVENT_ID, stall.getId());
+        leaseRepository.save(new InventoryLease(StallInventoryEngine.LEASE_NAME, "other-node",
+                LocalDateTime.now().plusMinutes(1)));
+
+        // When
+        engine.flush();
+
+        // Then
+        assertThat(engine.isServing()).isFalse();
+        assertThat(stallRepository.findById(stall.getId()).orElseThrow().getStatus()).isEqualTo(StallStatus.AVAILABLE);
+        assertThatThrownBy(() -> engine.holdStall(EVENT_ID, stall.getId()))
+                .isInstanceOf(InventoryUnavailableException.class);
+    }
+}
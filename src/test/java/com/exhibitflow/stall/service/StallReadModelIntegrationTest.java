@@ -0,0 +1,129 @@
+package com.exhibitflow.stall.service;
+
+import com.exhibitflow.stall.dto.CreateStallRequest;
+import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.event.RecordingStallEventPublisher;
+import com.exhibitflow.stall.model.Stall;
+import com.exhibitflow.stall.model.StallSize;
+import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.repository.StallRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readmodeldb",
+        "stall.read-model.enabled=true",
+        "stall.read-model.refresh-interval=PT1H"
+})
+@ActiveProfiles({"test", "no-broker"})
+@Import(RecordingStallEventPublisher.Config.class)
+class StallReadModelIntegrationTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Autowired
+    private StallReadModel readModel;
+
+    @Autowired
+    private StallService stallService;
+
+    @Autowired
+    private StallRepository stallRepository;
+
+    @BeforeEach
+    void setUp() {
+        stallRepository.deleteAll();
+        readModel.rebuild();
+    }
+
+    @Test
+    void getStalls_shouldServeFiltersFromReadModel_afterServiceWrites() {
+        // Given
+        StallResponse held = stallService.createStall(EVENT_ID, request("A-001", StallSize.MEDIUM, "500.00", "Hall A - North"));
+        stallService.createStall(EVENT_ID, request("A-002", StallSize.MEDIUM, "700.00", "Hall A - South"));
+        stallService.createStall(EVENT_ID, request("A-003", StallSize.MEDIUM, "900.00", "Hall B"));
+        stallService.createStall(EVENT_ID, request("A-004", StallSize.LARGE, "600.00", "Hall A"));
+        stallService.holdStall(EVENT_ID, held.getId());
+
+        // When
+        Page<StallResponse> page = stallService.getStalls(EVENT_ID, null, StallSize.MEDIUM, "hall a",
+                new BigDecimal("500"), new BigDecimal("800"), PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "price")));
+        Page<StallResponse> heldStalls = stallService.getStalls(EVENT_ID, StallStatus.HELD, null, null,
+                null, null, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(StallResponse::getCode).containsExactly("A-002");
+        assertThat(page.getContent().get(0).getEffectivePrice()).isEqualByComparingTo("700.00");
+        assertThat(heldStalls.getContent()).extracting(StallResponse::getCode).containsExactly("A-001");
+    }
+
+    @Test
+    void catchUp_shouldApplyChangesWrittenOutsideThisInstance() {
+        // Given: written straight to the table, as another instance would
+        Stall stall = stallRepository.save(stall("B-001", StallStatus.AVAILABLE));
+        assertThat(available()).isEmpty();
+
+        // When
+        readModel.catchUp();
+
+        // Then
+        assertThat(available()).extracting(StallResponse::getCode).containsExactly("B-001");
+
+        // And a soft delete arrives as a tombstone
+        stall.setDeletedAt(stall.getUpdatedAt());
+        stallRepository.save(stall);
+        readModel.catchUp();
+        assertThat(available()).isEmpty();
+    }
+
+    @Test
+    void rebuild_shouldRegenerateModelFromTable() {
+        // Given
+        stallRepository.save(stall("C-001", StallStatus.AVAILABLE));
+        stallRepository.save(stall("C-002", StallStatus.RESERVED));
+
+        // When
+        long stalls = readModel.rebuild().getStalls();
+
+        // Then
+        assertThat(stalls).isEqualTo(2);
+        assertThat(available()).extracting(StallResponse::getCode).containsExactly("C-001");
+    }
+
+    private java.util.List<StallResponse> available() {
+        return stallService.getStalls(EVENT_ID, StallStatus.AVAILABLE, null, null, null, null, PageRequest.of(0, 10))
+                .getContent();
+    }
+
+    private static CreateStallRequest request(String code, StallSize size, String price, String location) {
+        return CreateStallRequest.builder()
+                .code(code)
+                .size(size)
+                .location(location)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    private static Stall stall(String code, StallStatus status) {
+        return Stall.builder()
+                .eventId(EVENT_ID)
+                .code(code)
+                .size(StallSize.MEDIUM)
+                .location("Hall C")
+                .price(new BigDecimal("500.00"))
+                .status(status)
+                .build();
+    }
+}
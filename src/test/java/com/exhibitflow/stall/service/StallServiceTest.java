@@ -1,28 +1,45 @@
 package com.exhibitflow.stall.service;
 
+import com.exhibitflow.stall.config.PricingProperties;
 import com.exhibitflow.stall.dto.CreateStallRequest;
+import com.exhibitflow.stall.dto.NearbyStallResponse;
+import com.exhibitflow.stall.dto.StallBatchResponse;
 import com.exhibitflow.stall.dto.StallResponse;
+import com.exhibitflow.stall.dto.StallSearchResponse;
+import com.exhibitflow.stall.dto.StallSliceResponse;
+import com.exhibitflow.stall.dto.TotalsMode;
 import com.exhibitflow.stall.dto.UpdateStallRequest;
 import com.exhibitflow.stall.event.StallEventPublisher;
+import com.exhibitflow.stall.event.StallInvalidationPublisher;
 import com.exhibitflow.stall.model.Stall;
 import com.exhibitflow.stall.model.StallSize;
 import com.exhibitflow.stall.model.StallStatus;
+import com.exhibitflow.stall.model.StallWaiter;
+import com.exhibitflow.stall.repository.ExhibitionEventRepository;
 import com.exhibitflow.stall.repository.StallRepository;
+import com.exhibitflow.stall.repository.StallSearchHit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -30,14 +47,41 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
 class StallServiceTest {
 
+    private static final Long EVENT_ID = 1L;
+
     @Mock
     private StallRepository stallRepository;
 
+    @Mock
+    private ExhibitionEventRepository exhibitionEventRepository;
+
+    @Mock
+    private ExhibitionEventService exhibitionEventService;
+
     @Mock
     private StallEventPublisher eventPublisher;
 
+    @Mock
+    private StallCountCache stallCountCache;
+
+    @Mock
+    private StallWaitlistService stallWaitlistService;
+
+    @Mock
+    private ObjectProvider<StallInventoryEngine> inventoryEngine;
+
+    @Mock
+    private ObjectProvider<StallReadModel> readModel;
+
+    @Mock
+    private ObjectProvider<StallInvalidationPublisher> invalidationPublisher;
+
+    @Spy
+    private PricingEngine pricingEngine = new PricingEngine(new PricingProperties());
+
     @InjectMocks
     private StallService stallService;
 
@@ -47,6 +91,7 @@ class StallServiceTest {
     void setUp() {
         testStall = Stall.builder()
                 .id(1L)
+                .eventId(EVENT_ID)
                 .code("A-001")
                 .size(StallSize.MEDIUM)
                 .location("Hall A")
@@ -61,45 +106,101 @@ class StallServiceTest {
     void getStalls_shouldReturnPagedStalls() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
+        Pageable stablePageable = PageRequest.of(0, 10, Sort.by("id"));
         Page<Stall> stallPage = new PageImpl<>(List.of(testStall));
-        when(stallRepository.findByFilters(null, null, null, pageable)).thenReturn(stallPage);
+        when(stallRepository.findByFilters(EVENT_ID, null, null, null, null, null, stablePageable)).thenReturn(stallPage);
 
         // When
-        Page<StallResponse> result = stallService.getStalls(null, null, null, pageable);
+        Page<StallResponse> result = stallService.getStalls(EVENT_ID, null, null, null, null, null, pageable);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getCode()).isEqualTo("A-001");
-        verify(stallRepository).findByFilters(null, null, null, pageable);
+        verify(stallRepository).findByFilters(EVENT_ID, null, null, null, null, null, stablePageable);
+    }
+
+    @Test
+    void getStalls_shouldThrowException_whenMinPriceExceedsMaxPrice() {
+        // When/Then
+        assertThatThrownBy(() -> stallService.getStalls(EVENT_ID, null, null, null,
+                new BigDecimal("800.00"), new BigDecimal("500.00"), PageRequest.of(1, 10)))
+                .isInstanceOf(InvalidStallQueryException.class)
+                .hasMessageContaining("minPrice");
+        verifyNoInteractions(stallRepository);
+    }
+
+    @Test
+    void getStallSlice_shouldSkipCount_whenTotalsNone() {
+        // Given
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("id"));
+        when(stallRepository.findSliceByFilters(EVENT_ID, null, null, null, null, null, pageable))
+                .thenReturn(new SliceImpl<>(List.of(testStall), pageable, true));
+
+        // When
+        StallSliceResponse result = stallService.getStallSlice(EVENT_ID, null, null, null, null, null, pageable, TotalsMode.NONE);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isNull();
+        verify(stallRepository, never()).countByFilters(any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(stallCountCache);
     }
 
     @Test
     void getStallById_shouldReturnStall_whenExists() {
         // Given
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
 
         // When
-        StallResponse result = stallService.getStallById(1L);
+        StallResponse result = stallService.getStallById(EVENT_ID, 1L);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getCode()).isEqualTo("A-001");
-        verify(stallRepository).findById(1L);
+        verify(stallRepository).findByEventIdAndId(EVENT_ID, 1L);
     }
 
     @Test
     void getStallById_shouldThrowException_whenNotFound() {
         // Given
-        when(stallRepository.findById(1L)).thenReturn(Optional.empty());
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> stallService.getStallById(1L))
+        assertThatThrownBy(() -> stallService.getStallById(EVENT_ID, 1L))
                 .isInstanceOf(StallNotFoundException.class)
                 .hasMessageContaining("Stall not found with id: 1");
     }
 
+    @Test
+    void getStallsBatch_shouldKeyResultsByInput_andReportMissingKeys() {
+        // Given
+        when(stallRepository.findByEventIdAndIdInOrCodeIn(EVENT_ID, Set.of(1L, 2L), Set.of("A-001", "Z-999")))
+                .thenReturn(List.of(testStall));
+
+        // When
+        StallBatchResponse result = stallService.getStallsBatch(EVENT_ID, List.of(1L, 2L, 1L), List.of("A-001", "Z-999"));
+
+        // Then
+        assertThat(result.getById()).containsOnlyKeys(1L);
+        assertThat(result.getByCode()).containsOnlyKeys("A-001");
+        assertThat(result.getMissingIds()).containsExactly(2L);
+        assertThat(result.getMissingCodes()).containsExactly("Z-999");
+    }
+
+    @Test
+    void getStallsBatch_shouldThrowException_whenTooManyKeys() {
+        // Given
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, StallService.MAX_BATCH_KEYS + 1).boxed().toList();
+
+        // When/Then
+        assertThatThrownBy(() -> stallService.getStallsBatch(EVENT_ID, ids, null))
+                .isInstanceOf(InvalidStallQueryException.class);
+        verifyNoInteractions(stallRepository);
+    }
+
     @Test
     void createStall_shouldCreateAndReturnStall() {
         // Given
@@ -121,11 +222,11 @@ class StallServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(stallRepository.findByCode("B-002")).thenReturn(Optional.empty());
+        when(stallRepository.findByEventIdAndCode(EVENT_ID, "B-002")).thenReturn(Optional.empty());
         when(stallRepository.save(any(Stall.class))).thenReturn(newStall);
 
         // When
-        StallResponse result = stallService.createStall(request);
+        StallResponse result = stallService.createStall(EVENT_ID, request);
 
         // Then
         assertThat(result).isNotNull();
@@ -134,6 +235,54 @@ class StallServiceTest {
         verify(stallRepository).save(any(Stall.class));
     }
 
+    @Test
+    void createStall_shouldDeriveStructuredLocation() {
+        // Given
+        CreateStallRequest request = CreateStallRequest.builder()
+                .code("B-003")
+                .size(StallSize.SMALL)
+                .location("Hall B - East Wing, Row 2")
+                .slot("12")
+                .price(new BigDecimal("450.00"))
+                .build();
+
+        when(stallRepository.findByEventIdAndCode(EVENT_ID, "B-003")).thenReturn(Optional.empty());
+        when(stallRepository.save(any(Stall.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StallResponse result = stallService.createStall(EVENT_ID, request);
+
+        // Then
+        assertThat(result.getHall()).isEqualTo("Hall B");
+        assertThat(result.getWing()).isEqualTo("East Wing");
+        assertThat(result.getRow()).isEqualTo("Row 2");
+        assertThat(result.getSlot()).isEqualTo("12");
+    }
+
+    @Test
+    void createStall_shouldCreateStall_whenEventRegisteredConcurrently() {
+        // Given
+        CreateStallRequest request = CreateStallRequest.builder()
+                .code("C-001")
+                .size(StallSize.SMALL)
+                .location("Hall C")
+                .price(new BigDecimal("300.00"))
+                .build();
+
+        when(stallRepository.findByEventIdAndCode(EVENT_ID, "C-001")).thenReturn(Optional.empty());
+        when(exhibitionEventRepository.existsById(EVENT_ID)).thenReturn(false);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(exhibitionEventService).registerEvent(EVENT_ID);
+        when(stallRepository.save(any(Stall.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StallResponse result = stallService.createStall(EVENT_ID, request);
+
+        // Then
+        assertThat(result.getCode()).isEqualTo("C-001");
+        verify(stallRepository).save(any(Stall.class));
+    }
+
     @Test
     void createStall_shouldThrowException_whenCodeExists() {
         // Given
@@ -144,10 +293,10 @@ class StallServiceTest {
                 .price(new BigDecimal("750.00"))
                 .build();
 
-        when(stallRepository.findByCode("A-001")).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndCode(EVENT_ID, "A-001")).thenReturn(Optional.of(testStall));
 
         // When/Then
-        assertThatThrownBy(() -> stallService.createStall(request))
+        assertThatThrownBy(() -> stallService.createStall(EVENT_ID, request))
                 .isInstanceOf(DuplicateStallCodeException.class)
                 .hasMessageContaining("Stall with code A-001 already exists");
     }
@@ -162,6 +311,7 @@ class StallServiceTest {
 
         Stall updatedStall = Stall.builder()
                 .id(1L)
+                .eventId(EVENT_ID)
                 .code("A-001")
                 .size(StallSize.MEDIUM)
                 .location("Hall C")
@@ -171,11 +321,11 @@ class StallServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
         when(stallRepository.save(any(Stall.class))).thenReturn(updatedStall);
 
         // When
-        StallResponse result = stallService.updateStall(1L, request);
+        StallResponse result = stallService.updateStall(EVENT_ID, 1L, request);
 
         // Then
         assertThat(result).isNotNull();
@@ -189,6 +339,7 @@ class StallServiceTest {
         // Given
         Stall heldStall = Stall.builder()
                 .id(1L)
+                .eventId(EVENT_ID)
                 .code("A-001")
                 .size(StallSize.MEDIUM)
                 .location("Hall A")
@@ -198,11 +349,11 @@ class StallServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
         when(stallRepository.save(any(Stall.class))).thenReturn(heldStall);
 
         // When
-        StallResponse result = stallService.holdStall(1L);
+        StallResponse result = stallService.holdStall(EVENT_ID, 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -214,10 +365,10 @@ class StallServiceTest {
     void holdStall_shouldBeIdempotent_whenAlreadyHeld() {
         // Given
         testStall.setStatus(StallStatus.HELD);
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
 
         // When
-        StallResponse result = stallService.holdStall(1L);
+        StallResponse result = stallService.holdStall(EVENT_ID, 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -229,10 +380,10 @@ class StallServiceTest {
     void holdStall_shouldThrowException_whenNotAvailable() {
         // Given
         testStall.setStatus(StallStatus.RESERVED);
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
 
         // When/Then
-        assertThatThrownBy(() -> stallService.holdStall(1L))
+        assertThatThrownBy(() -> stallService.holdStall(EVENT_ID, 1L))
                 .isInstanceOf(InvalidStallStatusException.class)
                 .hasMessageContaining("Cannot hold stall with status: RESERVED");
     }
@@ -243,6 +394,7 @@ class StallServiceTest {
         testStall.setStatus(StallStatus.HELD);
         Stall releasedStall = Stall.builder()
                 .id(1L)
+                .eventId(EVENT_ID)
                 .code("A-001")
                 .size(StallSize.MEDIUM)
                 .location("Hall A")
@@ -252,11 +404,11 @@ class StallServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
         when(stallRepository.save(any(Stall.class))).thenReturn(releasedStall);
 
         // When
-        StallResponse result = stallService.releaseStall(1L);
+        StallResponse result = stallService.releaseStall(EVENT_ID, 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -265,13 +417,33 @@ class StallServiceTest {
         verify(eventPublisher).publishStallReleased(any());
     }
 
+    @Test
+    void releaseStall_shouldHoldForNextWaiter_whenQueued() {
+        // Given
+        testStall.setStatus(StallStatus.RESERVED);
+        StallWaiter waiter = StallWaiter.builder().id(7L).stallId(1L).username("manager-2").build();
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.save(any(Stall.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stallWaitlistService.pollNext(1L)).thenReturn(Optional.of(waiter));
+
+        // When
+        StallResponse result = stallService.releaseStall(EVENT_ID, 1L);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(StallStatus.HELD);
+        verify(stallRepository, times(2)).flush();
+        verify(eventPublisher, never()).publishStallReleased(any());
+        verify(eventPublisher).publishStallOffered(argThat(event ->
+                "manager-2".equals(event.getHeldFor()) && event.getStatus() == StallStatus.HELD));
+    }
+
     @Test
     void releaseStall_shouldBeIdempotent_whenAlreadyAvailable() {
         // Given
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
 
         // When
-        StallResponse result = stallService.releaseStall(1L);
+        StallResponse result = stallService.releaseStall(EVENT_ID, 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -286,6 +458,7 @@ class StallServiceTest {
         testStall.setStatus(StallStatus.HELD);
         Stall reservedStall = Stall.builder()
                 .id(1L)
+                .eventId(EVENT_ID)
                 .code("A-001")
                 .size(StallSize.MEDIUM)
                 .location("Hall A")
@@ -295,11 +468,11 @@ class StallServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
         when(stallRepository.save(any(Stall.class))).thenReturn(reservedStall);
 
         // When
-        StallResponse result = stallService.reserveStall(1L);
+        StallResponse result = stallService.reserveStall(EVENT_ID, 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -312,10 +485,10 @@ class StallServiceTest {
     void reserveStall_shouldBeIdempotent_whenAlreadyReserved() {
         // Given
         testStall.setStatus(StallStatus.RESERVED);
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
 
         // When
-        StallResponse result = stallService.reserveStall(1L);
+        StallResponse result = stallService.reserveStall(EVENT_ID, 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -327,11 +500,104 @@ class StallServiceTest {
     @Test
     void reserveStall_shouldThrowException_whenNotHeld() {
         // Given
-        when(stallRepository.findById(1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
 
         // When/Then
-        assertThatThrownBy(() -> stallService.reserveStall(1L))
+        assertThatThrownBy(() -> stallService.reserveStall(EVENT_ID, 1L))
                 .isInstanceOf(InvalidStallStatusException.class)
                 .hasMessageContaining("Cannot reserve stall with status: AVAILABLE");
     }
+
+    @Test
+    void findNearestAvailable_shouldMeasureFromReferenceStall() {
+        // Given
+        testStall.setPosX(10.0);
+        testStall.setPosY(20.0);
+        Stall nearby = Stall.builder()
+                .id(2L)
+                .eventId(EVENT_ID)
+                .code("A-002")
+                .size(StallSize.LARGE)
+                .location("Hall A")
+                .price(new BigDecimal("900.00"))
+                .status(StallStatus.AVAILABLE)
+                .posX(13.0)
+                .posY(24.0)
+                .build();
+
+        when(stallRepository.findByEventIdAndId(EVENT_ID, 1L)).thenReturn(Optional.of(testStall));
+        when(stallRepository.findNearestAvailable(EVENT_ID, 10.0, 20.0, 1L, "LARGE", null, 3))
+                .thenReturn(List.of(nearby));
+
+        // When
+        List<NearbyStallResponse> result = stallService.findNearestAvailable(
+                EVENT_ID, null, null, 1L, StallSize.LARGE, null, 3);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getStall().getCode()).isEqualTo("A-002");
+        assertThat(result.get(0).getDistance()).isEqualTo(5.0);
+    }
+
+    @Test
+    void findNearestAvailable_shouldThrowException_whenNoOrigin() {
+        // When/Then
+        assertThatThrownBy(() -> stallService.findNearestAvailable(EVENT_ID, 1.0, null, null, null, null, 5))
+                .isInstanceOf(InvalidStallQueryException.class)
+                .hasMessageContaining("Either x and y or nearStallId is required");
+    }
+
+    @Test
+    void searchStalls_shouldReturnHitsInRankOrder_withHighlights() {
+        // Given
+        Stall corner = Stall.builder()
+                .id(2L)
+                .eventId(EVENT_ID)
+                .code("A-002")
+                .size(StallSize.LARGE)
+                .location("Hall A - Premium Corner")
+                .price(new BigDecimal("900.00"))
+                .status(StallStatus.AVAILABLE)
+                .build();
+        when(stallRepository.searchStalls(EVENT_ID, "prem:* & corner:* & hall:* & a:*", 10))
+                .thenReturn(List.of(hit(2L, 0.8, "A-002 <mark>Hall</mark> <mark>A</mark> - <mark>Premium</mark> <mark>Corner</mark>"),
+                        hit(1L, 0.2, "A-001 <mark>Hall</mark> <mark>A</mark>")));
+        when(stallRepository.findByEventIdAndIdIn(EVENT_ID, List.of(2L, 1L))).thenReturn(List.of(testStall, corner));
+
+        // When
+        List<StallSearchResponse> result = stallService.searchStalls(EVENT_ID, "Prem corner, hall-A", 10);
+
+        // Then
+        assertThat(result).extracting(hit -> hit.getStall().getCode()).containsExactly("A-002", "A-001");
+        assertThat(result.get(0).getRank()).isEqualTo(0.8);
+        assertThat(result.get(0).getHighlight()).contains("<mark>Premium</mark>");
+    }
+
+    @Test
+    void searchStalls_shouldThrowException_whenTextHasNoWords() {
+        // When/Then
+        assertThatThrownBy(() -> stallService.searchStalls(EVENT_ID, " & | !:* ", 10))
+                .isInstanceOf(InvalidStallQueryException.class)
+                .hasMessageContaining("at least one letter or digit");
+        verifyNoInteractions(stallRepository);
+    }
+
+    private static StallSearchHit hit(Long id, double rank, String highlight) {
+        return new StallSearchHit() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Double getRank() {
+                return rank;
+            }
+
+            @Override
+            public String getHighlight() {
+                return highlight;
+            }
+        };
+    }
 }